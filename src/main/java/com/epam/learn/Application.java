@@ -1,19 +1,34 @@
 package com.epam.learn;
 
 import com.epam.learn.config.AppConfig;
+import com.epam.learn.config.startup.StartupTimeline;
 import com.epam.learn.console.CommandLineRunner;
+import com.epam.learn.dao.TraineeDao;
+import com.epam.learn.dao.TrainingTypeDao;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.management.ManagementFactory;
+
 @Slf4j
 public class Application {
     public static void main(String[] args) {
         try {
             LOGGER.info("Initializing application context...");
-            AnnotationConfigApplicationContext context =
-                    new AnnotationConfigApplicationContext(AppConfig.class);
+            // Records the creation of every bean, Flyway, the EntityManagerFactory and the seeding of the storage
+            StartupTimeline timeline = new StartupTimeline();
+            AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+            context.setApplicationStartup(timeline);
+            context.register(AppConfig.class);
+            context.refresh();
 
             LOGGER.info("Application context initialized successfully");
+            timeline.logReport(context.getEnvironment().getProperty("startup.timeline.top-beans", Integer.class, 15));
+
+            if (context.getEnvironment().getProperty("startup.training-run", Boolean.class, false)) {
+                trainingRun(context);
+                return;
+            }
 
             // Get all beans that implement CommandLineRunner
             String[] beanNames = context.getBeanNamesForType(CommandLineRunner.class);
@@ -33,4 +48,17 @@ public class Application {
             System.exit(1);
         }
     }
+
+    /**
+     * Answers a first query without starting the console, logs how long after the start of the JVM it was answered
+     * and closes the context. Used to record a class data sharing archive with -XX:ArchiveClassesAtExit
+     * (see the appcds profile of the build and the Dockerfile) and to compare the startup with and without it.
+     */
+    private static void trainingRun(AnnotationConfigApplicationContext context) {
+        long trainingTypes = context.getBean(TrainingTypeDao.class).findAll(0, 20).totalElements();
+        long trainees = context.getBean(TraineeDao.class).findAll(0, 20).totalElements();
+        LOGGER.info("trainingRun:: First query answered {} ms after the JVM started ({} training types, {} trainees)",
+                ManagementFactory.getRuntimeMXBean().getUptime(), trainingTypes, trainees);
+        context.close();
+    }
 }
@@ -0,0 +1,86 @@
+package com.epam.learn.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+
+/**
+ * Configuration of the JCache (Ehcache 3) cache manager used as the Hibernate second-level cache.
+ * Every region is created up front with a bounded number of heap entries, so the least recently used
+ * entries are evicted once a region is full, and a time to live after which entries are reloaded.
+ */
+@Slf4j
+@Configuration
+public class CacheConfig {
+
+    public static final String USERS_REGION = "users";
+    public static final String TRAINING_TYPES_REGION = "trainingTypes";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${cache.region.users.max.entries:10000}")
+    private long usersMaxEntries;
+
+    @Value("${cache.region.users.ttl:600}")
+    private long usersTtl;
+
+    @Value("${cache.region.training-types.max.entries:100}")
+    private long trainingTypesMaxEntries;
+
+    @Value("${cache.region.training-types.ttl:3600}")
+    private long trainingTypesTtl;
+
+    @Value("${cache.region.query-results.max.entries:1000}")
+    private long queryResultsMaxEntries;
+
+    @Value("${cache.region.query-results.ttl:600}")
+    private long queryResultsTtl;
+
+    @Value("${cache.region.update-timestamps.max.entries:1000}")
+    private long updateTimestampsMaxEntries;
+
+    /**
+     * Creates the cache manager holding all second-level cache regions.
+     * The update timestamps region never expires, because the query cache relies on it
+     * to detect query results that were cached before a table was modified.
+     *
+     * @return the cache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManager() {
+        LOGGER.info("Creating second-level cache regions: {}={}/{}s, {}={}/{}s, {}={}/{}s",
+                USERS_REGION, usersMaxEntries, usersTtl,
+                TRAINING_TYPES_REGION, trainingTypesMaxEntries, trainingTypesTtl,
+                QUERY_RESULTS_REGION, queryResultsMaxEntries, queryResultsTtl);
+
+        org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(USERS_REGION, region(usersMaxEntries, usersTtl))
+                .withCache(TRAINING_TYPES_REGION, region(trainingTypesMaxEntries, trainingTypesTtl))
+                .withCache(QUERY_RESULTS_REGION, region(queryResultsMaxEntries, queryResultsTtl))
+                .withCache(UPDATE_TIMESTAMPS_REGION, CacheConfigurationBuilder
+                        .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(updateTimestampsMaxEntries))
+                        .withExpiry(ExpiryPolicyBuilder.noExpiration()))
+                .build();
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(provider.getDefaultURI(), configuration);
+    }
+
+    private static CacheConfiguration<Object, Object> region(long maxEntries, long ttlSeconds) {
+        return CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSeconds)))
+                .build();
+    }
+}
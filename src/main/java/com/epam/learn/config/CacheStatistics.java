@@ -0,0 +1,105 @@
+package com.epam.learn.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes the hit/miss statistics of the Hibernate second-level cache regions
+ * configured by {@link CacheConfig} and allows evicting a region on demand.
+ * The console shows them on request.
+ * Statistics are only collected when {@code hibernate.generate_statistics} is enabled, which is off by default
+ * because it adds bookkeeping to every session.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheStatistics {
+
+    private static final List<String> REGIONS = List.of(
+            CacheConfig.USERS_REGION,
+            CacheConfig.TRAINING_TYPES_REGION,
+            CacheConfig.QUERY_RESULTS_REGION);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Checks whether Hibernate collects the statistics; if not, every snapshot reports zero hits and misses.
+     *
+     * @return true if {@code hibernate.generate_statistics} is enabled
+     */
+    public boolean isEnabled() {
+        return sessionFactory().getStatistics().isStatisticsEnabled();
+    }
+
+    /**
+     * Returns a point-in-time snapshot of the statistics of the given region.
+     *
+     * @param region the name of the region
+     * @return the snapshot, or null if the region is unknown
+     */
+    public Snapshot snapshot(String region) {
+        CacheRegionStatistics statistics = sessionFactory().getStatistics().getCacheRegionStatistics(region);
+        if (statistics == null) {
+            return null;
+        }
+        return new Snapshot(statistics.getHitCount(), statistics.getMissCount(), statistics.getPutCount(),
+                statistics.getElementCountInMemory());
+    }
+
+    /**
+     * Returns a point-in-time snapshot of the statistics of all regions.
+     *
+     * @return the snapshots keyed by region name
+     */
+    public Map<String, Snapshot> snapshots() {
+        Map<String, Snapshot> result = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            Snapshot snapshot = snapshot(region);
+            if (snapshot != null) {
+                result.put(region, snapshot);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes all entries of the given region.
+     *
+     * @param region the name of the region
+     */
+    public void evict(String region) {
+        LOGGER.info("Evicting second-level cache region {}", region);
+        sessionFactory().getCache().evictRegion(region);
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Point-in-time view of a cache region's statistics.
+     *
+     * @param hits     the number of successful lookups
+     * @param misses   the number of lookups that had to go to the database
+     * @param puts     the number of entries put into the region
+     * @param elements the number of entries currently held in memory, or a negative value if unknown
+     */
+    public record Snapshot(long hits, long misses, long puts, long elements) {
+
+        /**
+         * @return the ratio of hits to lookups, or 0 if there were no lookups yet
+         */
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+}
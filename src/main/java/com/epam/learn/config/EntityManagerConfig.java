@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
 
 /**
  * Configuration class for EntityManager.
@@ -19,14 +20,17 @@ public class EntityManagerConfig {
     private final EntityManagerFactory entityManagerFactory;
 
     /**
-     * Creates a bean for EntityManager.
-     * This bean can be injected into DAOs.
+     * Creates a bean for a shared, thread-safe EntityManager proxy.
+     * Each call on the proxy is delegated to the EntityManager bound to the current transaction
+     * by the {@code JpaTransactionManager}, so concurrent service calls work on isolated persistence
+     * contexts that are closed when their transaction completes. Outside a transaction,
+     * every call runs on a short-lived EntityManager that is closed right after the call.
      *
-     * @return the EntityManager
+     * @return the shared EntityManager proxy
      */
     @Bean
     public EntityManager entityManager() {
-        LOGGER.debug("Creating EntityManager from EntityManagerFactory");
-        return entityManagerFactory.createEntityManager();
+        LOGGER.debug("Creating shared EntityManager proxy from EntityManagerFactory");
+        return SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
     }
 }
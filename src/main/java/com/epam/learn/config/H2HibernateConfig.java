@@ -11,6 +11,7 @@ import org.springframework.core.env.Environment;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 
+import javax.cache.CacheManager;
 import javax.sql.DataSource;
 import java.util.Properties;
 
@@ -24,8 +25,8 @@ import java.util.Properties;
 @Configuration
 public class H2HibernateConfig extends HibernateConfig {
 
-    public H2HibernateConfig(Environment env, DatabaseConfig databaseConfig) {
-        super(env, databaseConfig);
+    public H2HibernateConfig(Environment env, DatabaseConfig databaseConfig, CacheManager cacheManager) {
+        super(env, databaseConfig, cacheManager);
     }
 
     @Bean
@@ -58,6 +59,7 @@ public class H2HibernateConfig extends HibernateConfig {
             Properties props = hibernateProperties();
             LOGGER.debug("Hibernate properties for H2: {}", props);
             em.setJpaProperties(props);
+            configureBootstrap(em);
 
             LOGGER.info("EntityManagerFactory for H2 configured successfully");
             return em;
@@ -78,8 +80,9 @@ public class H2HibernateConfig extends HibernateConfig {
         properties.put("hibernate.show_sql", "true");
         properties.put("hibernate.format_sql", "true");
         properties.put("hibernate.hbm2ddl.auto", "create-drop");
-        properties.put("hibernate.connection.pool_size", "10");
         properties.put("hibernate.connection.autocommit", "true");
+        addBatchingProperties(properties);
+        addCacheProperties(properties);
 
         // We don't need to import data from data.json file here
         // as we're using StorageInitializer to load the data
@@ -1,33 +1,47 @@
 package com.epam.learn.config;
 
 import com.epam.learn.config.database.DatabaseConfig;
+import com.epam.learn.config.startup.StartupTimeline;
 import jakarta.persistence.EntityManagerFactory;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationStartupAware;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import javax.cache.CacheManager;
 import javax.sql.DataSource;
 import java.util.Properties;
 
 @Slf4j
 @Configuration
 @Profile("default")
-@AllArgsConstructor
+@RequiredArgsConstructor
 @EnableTransactionManagement
-public class HibernateConfig {
+public class HibernateConfig implements ApplicationStartupAware {
 
     private final Environment env;
     private final DatabaseConfig databaseConfig;
+    private final CacheManager cacheManager;
+
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
 
     @Bean(name = "dataSource")
     public DataSource dataSource() {
@@ -58,6 +72,7 @@ public class HibernateConfig {
             Properties props = hibernateProperties();
             LOGGER.debug("Hibernate properties: {}", props);
             em.setJpaProperties(props);
+            configureBootstrap(em);
 
             LOGGER.info("EntityManagerFactory configured successfully");
             return em;
@@ -67,10 +82,16 @@ public class HibernateConfig {
         }
     }
 
+    /**
+     * Creates the transaction manager. A method that writes and joins a read-only transaction fails with an
+     * {@code IllegalTransactionStateException} instead of running in it, where Hibernate would not flush
+     * its changes and H2 would not reject its statements.
+     */
     @Bean
     public PlatformTransactionManager transactionManager(EntityManagerFactory emf) {
         JpaTransactionManager transactionManager = new JpaTransactionManager();
         transactionManager.setEntityManagerFactory(emf);
+        transactionManager.setValidateExistingTransaction(true);
         return transactionManager;
     }
 
@@ -81,8 +102,61 @@ public class HibernateConfig {
         properties.put("hibernate.show_sql", env.getProperty("spring.jpa.show-sql", "true"));
         properties.put("hibernate.format_sql", env.getProperty("spring.jpa.properties.hibernate.format_sql", "true"));
         properties.put("hibernate.hbm2ddl.auto", env.getProperty("spring.jpa.hibernate.ddl-auto", "validate"));
-        properties.put("hibernate.connection.pool_size", "10");
         properties.put("hibernate.connection.autocommit", "true");
+        addBatchingProperties(properties);
+        addCacheProperties(properties);
         return properties;
     }
+
+    /**
+     * Builds the EntityManagerFactory on a background thread if {@code startup.background-bootstrap} is enabled.
+     * The context then finishes its refresh while Hibernate builds the metamodel (and, on H2, the schema),
+     * and the first use of the EntityManagerFactory waits until it is ready.
+     *
+     * @param em the EntityManagerFactory bean
+     */
+    protected void configureBootstrap(LocalContainerEntityManagerFactoryBean em) {
+        if (!env.getProperty("startup.background-bootstrap", Boolean.class, false)) {
+            return;
+        }
+        LOGGER.info("EntityManagerFactory will be bootstrapped in the background");
+        SimpleAsyncTaskExecutor bootstrapExecutor = new SimpleAsyncTaskExecutor("jpa-bootstrap-");
+        bootstrapExecutor.setTaskDecorator(task -> () -> {
+            StartupStep step = applicationStartup.start(StartupTimeline.JPA_BOOTSTRAP_STEP);
+            try {
+                task.run();
+            } finally {
+                step.end();
+            }
+        });
+        em.setBootstrapExecutor(bootstrapExecutor);
+    }
+
+    /**
+     * Adds the JDBC batching properties, so that inserts and updates issued in one flush
+     * are grouped by statement and sent to the database in batches.
+     *
+     * @param properties the Hibernate properties to add to
+     */
+    protected void addBatchingProperties(Properties properties) {
+        properties.put("hibernate.jdbc.batch_size", env.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", "50"));
+        properties.put("hibernate.order_inserts", env.getProperty("spring.jpa.properties.hibernate.order_inserts", "true"));
+        properties.put("hibernate.order_updates", env.getProperty("spring.jpa.properties.hibernate.order_updates", "true"));
+    }
+
+    /**
+     * Adds the second-level and query cache properties, backed by the regions of the JCache
+     * {@link CacheManager} created in {@link CacheConfig}. A region that is not configured there
+     * makes startup fail instead of silently creating an unbounded cache.
+     *
+     * @param properties the Hibernate properties to add to
+     */
+    protected void addCacheProperties(Properties properties) {
+        properties.put("hibernate.cache.use_second_level_cache", "true");
+        properties.put("hibernate.cache.use_query_cache", "true");
+        properties.put("hibernate.cache.region.factory_class", "jcache");
+        properties.put("hibernate.javax.cache.cache_manager", cacheManager);
+        properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        properties.put("hibernate.generate_statistics", env.getProperty("spring.jpa.properties.hibernate.generate_statistics", "false"));
+    }
 }
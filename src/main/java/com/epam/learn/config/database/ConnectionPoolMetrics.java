@@ -0,0 +1,119 @@
+package com.epam.learn.config.database;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects runtime metrics for every connection pool created by the {@link DatabaseConfig} implementations.
+ * For each pool it records how long callers waited for a connection and exposes the active, idle,
+ * total and pending-thread gauges reported by the pool itself.
+ */
+@Slf4j
+@Component
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private final Map<String, PoolMetrics> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        LOGGER.debug("Registering metrics for connection pool {}", poolName);
+        PoolMetrics metrics = new PoolMetrics(poolStats);
+        pools.put(poolName, metrics);
+        return metrics;
+    }
+
+    /**
+     * Returns a point-in-time snapshot of the metrics of the given pool.
+     *
+     * @param poolName the name of the pool
+     * @return the snapshot, or null if no pool with the given name has been registered
+     */
+    public Snapshot snapshot(String poolName) {
+        PoolMetrics metrics = pools.get(poolName);
+        return metrics != null ? metrics.snapshot() : null;
+    }
+
+    /**
+     * Returns a point-in-time snapshot of the metrics of all registered pools.
+     *
+     * @return the snapshots keyed by pool name
+     */
+    public Map<String, Snapshot> snapshots() {
+        Map<String, Snapshot> result = new ConcurrentHashMap<>();
+        pools.forEach((name, metrics) -> result.put(name, metrics.snapshot()));
+        return result;
+    }
+
+    /**
+     * Point-in-time view of a pool's gauges and connection wait statistics.
+     *
+     * @param activeConnections  the number of connections currently in use
+     * @param idleConnections    the number of connections currently idle in the pool
+     * @param totalConnections   the total number of connections in the pool
+     * @param pendingThreads     the number of threads waiting for a connection
+     * @param acquisitions       the number of connections handed out since the pool was started
+     * @param averageWaitMillis  the average time callers waited for a connection
+     * @param maxWaitMillis      the longest time a caller waited for a connection
+     * @param timeouts           the number of connection requests that timed out
+     */
+    public record Snapshot(
+            int activeConnections,
+            int idleConnections,
+            int totalConnections,
+            int pendingThreads,
+            long acquisitions,
+            double averageWaitMillis,
+            double maxWaitMillis,
+            long timeouts
+    ) {
+    }
+
+    private static final class PoolMetrics implements IMetricsTracker {
+
+        private final PoolStats poolStats;
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder timeouts = new LongAdder();
+
+        private PoolMetrics(PoolStats poolStats) {
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquisitions.increment();
+            totalWaitNanos.add(elapsedAcquiredNanos);
+            maxWaitNanos.accumulate(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+
+        private Snapshot snapshot() {
+            long count = acquisitions.sum();
+            double averageWaitNanos = count > 0 ? (double) totalWaitNanos.sum() / count : 0;
+            return new Snapshot(
+                    poolStats.getActiveConnections(),
+                    poolStats.getIdleConnections(),
+                    poolStats.getTotalConnections(),
+                    poolStats.getPendingThreads(),
+                    count,
+                    averageWaitNanos / TimeUnit.MILLISECONDS.toNanos(1),
+                    (double) maxWaitNanos.get() / TimeUnit.MILLISECONDS.toNanos(1),
+                    timeouts.sum()
+            );
+        }
+    }
+}
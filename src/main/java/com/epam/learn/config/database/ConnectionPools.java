@@ -0,0 +1,84 @@
+package com.epam.learn.config.database;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Properties;
+
+/**
+ * Utility class for creating the pooled data sources used by the {@link DatabaseConfig} implementations.
+ * Every pool registers its JMX MBean, so the active, idle and total connection gauges can also be
+ * inspected from outside the application.
+ */
+@Slf4j
+final class ConnectionPools {
+
+    private ConnectionPools() {
+    }
+
+    /**
+     * Creates a new connection pool.
+     *
+     * @param poolName             the name of the pool, used in logs, metrics and JMX
+     * @param driverClassName      the JDBC driver class name
+     * @param url                  the JDBC URL
+     * @param username             the database username
+     * @param password             the database password
+     * @param settings             the sizing and timeout settings of the pool
+     * @param dataSourceProperties driver-specific connection properties; can be null
+     * @param metricsTrackerFactory the factory receiving the pool metrics; can be null
+     * @return the started pool
+     */
+    static HikariDataSource create(String poolName, String driverClassName, String url, String username,
+                                   String password, PoolSettings settings, Properties dataSourceProperties,
+                                   MetricsTrackerFactory metricsTrackerFactory) {
+        return create(poolName, driverClassName, url, username, password, settings, dataSourceProperties,
+                metricsTrackerFactory, false);
+    }
+
+    /**
+     * Creates a new connection pool whose connections are optionally read-only by default.
+     *
+     * @param poolName             the name of the pool, used in logs, metrics and JMX
+     * @param driverClassName      the JDBC driver class name
+     * @param url                  the JDBC URL
+     * @param username             the database username
+     * @param password             the database password
+     * @param settings             the sizing and timeout settings of the pool
+     * @param dataSourceProperties driver-specific connection properties; can be null
+     * @param metricsTrackerFactory the factory receiving the pool metrics; can be null
+     * @param readOnly             whether the connections of the pool are read-only
+     * @return the started pool
+     */
+    static HikariDataSource create(String poolName, String driverClassName, String url, String username,
+                                   String password, PoolSettings settings, Properties dataSourceProperties,
+                                   MetricsTrackerFactory metricsTrackerFactory, boolean readOnly) {
+        LOGGER.info("Creating connection pool {} (maximumPoolSize={}, minimumIdle={}, readOnly={})",
+                poolName, settings.maximumPoolSize(), settings.minimumIdle(), readOnly);
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setDriverClassName(driverClassName);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(settings.maximumPoolSize());
+        config.setMinimumIdle(settings.minimumIdle());
+        config.setConnectionTimeout(settings.connectionTimeout());
+        config.setIdleTimeout(settings.idleTimeout());
+        config.setMaxLifetime(settings.maxLifetime());
+        config.setReadOnly(readOnly);
+        config.setRegisterMbeans(true);
+
+        if (dataSourceProperties != null) {
+            config.setDataSourceProperties(dataSourceProperties);
+        }
+        if (metricsTrackerFactory != null) {
+            config.setMetricsTrackerFactory(metricsTrackerFactory);
+        }
+
+        return new HikariDataSource(config);
+    }
+}
@@ -1,12 +1,12 @@
 package com.epam.learn.config.database;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 import javax.sql.DataSource;
 
@@ -29,8 +29,34 @@ public class H2Config implements DatabaseConfig {
     @Value("${h2.password}")
     private String password;
 
+    @Value("${h2.connection.timeout:30000}")
+    private long connectionTimeout;
+
+    @Value("${h2.idle.timeout:600000}")
+    private long idleTimeout;
+
+    @Value("${h2.max.lifetime:1800000}")
+    private long maxLifetime;
+
+    @Value("${h2.maximum.pool.size:10}")
+    private int maximumPoolSize;
+
+    @Value("${h2.minimum.idle:2}")
+    private int minimumIdle;
+
+    @Value("${h2.readonly.maximum.pool.size:10}")
+    private int readOnlyMaximumPoolSize;
+
+    @Value("${h2.readonly.minimum.idle:2}")
+    private int readOnlyMinimumIdle;
+
+    @Autowired
+    private ConnectionPoolMetrics connectionPoolMetrics;
+
     /**
-     * Creates and configures a data source for H2 database.
+     * Creates and configures a pooled data source for H2 database.
+     * Read-only transactions take their connections from a second pool of read-only connections
+     * to the same database, sized by {@code h2.readonly.maximum.pool.size} and {@code h2.readonly.minimum.idle}.
      *
      * @return the configured data source
      */
@@ -38,12 +64,13 @@ public class H2Config implements DatabaseConfig {
     @Primary
     @Override
     public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName("org.h2.Driver");
-        dataSource.setUrl(url);
-        dataSource.setUsername(username);
-        dataSource.setPassword(password);
-
-        return dataSource;
+        PoolSettings settings = new PoolSettings(maximumPoolSize, minimumIdle, connectionTimeout, idleTimeout, maxLifetime);
+        PoolSettings readOnlySettings = new PoolSettings(readOnlyMaximumPoolSize, readOnlyMinimumIdle,
+                connectionTimeout, idleTimeout, maxLifetime);
+        return new ReadOnlyRoutingDataSource(
+                ConnectionPools.create("training-h2-pool", "org.h2.Driver", url, username, password,
+                        settings, null, connectionPoolMetrics),
+                ConnectionPools.create("training-h2-readonly-pool", "org.h2.Driver", url, username, password,
+                        readOnlySettings, null, connectionPoolMetrics, true));
     }
 }
@@ -0,0 +1,19 @@
+package com.epam.learn.config.database;
+
+/**
+ * Sizing and timeout settings for a single connection pool.
+ *
+ * @param maximumPoolSize   the maximum number of connections (active and idle) in the pool
+ * @param minimumIdle       the minimum number of idle connections the pool tries to keep
+ * @param connectionTimeout the maximum time in milliseconds a caller waits for a connection
+ * @param idleTimeout       the time in milliseconds after which an idle connection above the minimum is retired
+ * @param maxLifetime       the maximum lifetime in milliseconds of a connection in the pool
+ */
+public record PoolSettings(
+        int maximumPoolSize,
+        int minimumIdle,
+        long connectionTimeout,
+        long idleTimeout,
+        long maxLifetime
+) {
+}
@@ -1,11 +1,12 @@
 package com.epam.learn.config.database;
 
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 import javax.sql.DataSource;
 import java.util.Properties;
@@ -29,10 +30,48 @@ public class PostgresConfig implements DatabaseConfig {
     @Value("${postgres.port:5432}")
     private int postgresPort;
 
+    @Value("${postgres.connection.timeout:30000}")
+    private long connectionTimeout;
+
+    @Value("${postgres.idle.timeout:600000}")
+    private long idleTimeout;
+
+    @Value("${postgres.max.lifetime:1800000}")
+    private long maxLifetime;
+
+    @Value("${postgres.maximum.pool.size:10}")
+    private int maximumPoolSize;
+
+    @Value("${postgres.minimum.idle:5}")
+    private int minimumIdle;
+
+    @Value("${postgres.flyway.maximum.pool.size:2}")
+    private int flywayMaximumPoolSize;
+
+    @Value("${postgres.readonly.host:${postgres.host:localhost}}")
+    private String readOnlyHost;
+
+    @Value("${postgres.readonly.port:${postgres.port:5432}}")
+    private int readOnlyPort;
+
+    @Value("${postgres.readonly.maximum.pool.size:10}")
+    private int readOnlyMaximumPoolSize;
+
+    @Value("${postgres.readonly.minimum.idle:2}")
+    private int readOnlyMinimumIdle;
+
+    @Autowired
+    private ConnectionPoolMetrics connectionPoolMetrics;
+
     private static final String POSTGRES_URL_TEMPLATE = "jdbc:postgresql://%s:%d/%s";
 
     /**
      * Основне джерело даних для використання в EntityManagerFactory.
+     * Пул з'єднань налаштовується властивостями {@code postgres.maximum.pool.size},
+     * {@code postgres.minimum.idle}, {@code postgres.idle.timeout} та {@code postgres.max.lifetime}.
+     * Транзакції лише для читання отримують з'єднання з окремого пулу, який може вказувати на репліку
+     * ({@code postgres.readonly.host}, {@code postgres.readonly.port}) і налаштовується властивостями
+     * {@code postgres.readonly.maximum.pool.size} та {@code postgres.readonly.minimum.idle}.
      *
      * @return основний DataSource
      */
@@ -41,18 +80,27 @@ public class PostgresConfig implements DatabaseConfig {
     @Override
     public DataSource dataSource() {
         Properties connectionProperties = createConnectionProperties("training-application", 10, 30, 10);
-        return createDataSource(connectionProperties);
+        PoolSettings settings = new PoolSettings(maximumPoolSize, minimumIdle, connectionTimeout, idleTimeout, maxLifetime);
+        Properties readOnlyConnectionProperties = createConnectionProperties("training-application-readonly", 10, 30, 10);
+        PoolSettings readOnlySettings = new PoolSettings(readOnlyMaximumPoolSize, readOnlyMinimumIdle,
+                connectionTimeout, idleTimeout, maxLifetime);
+        return new ReadOnlyRoutingDataSource(
+                createDataSource("training-pool", postgresHost, postgresPort, settings, connectionProperties, false),
+                createDataSource("training-readonly-pool", readOnlyHost, readOnlyPort, readOnlySettings,
+                        readOnlyConnectionProperties, true));
     }
 
     /**
      * Окреме джерело даних, призначене для Flyway.
+     * Це невеликий пул, який закривається одразу після виконання міграцій.
      *
      * @return DataSource для Flyway
      */
     @Bean(name = "flywayDataSource")
     public DataSource flywayDataSource() {
         Properties connectionProperties = createConnectionProperties("training-application-flyway", 30, 60, 30);
-        return createDataSource(connectionProperties);
+        PoolSettings settings = new PoolSettings(flywayMaximumPoolSize, 0, connectionTimeout, idleTimeout, maxLifetime);
+        return createDataSource("training-flyway-pool", postgresHost, postgresPort, settings, connectionProperties, false);
     }
 
     /**
@@ -77,21 +125,21 @@ public class PostgresConfig implements DatabaseConfig {
     }
 
     /**
-     * Метод для створення DriverManagerDataSource.
+     * Метод для створення пулу з'єднань.
      *
+     * @param poolName             назва пулу
+     * @param host                 хост бази даних
+     * @param port                 порт бази даних
+     * @param settings             розмір пулу та таймаути
      * @param connectionProperties властивості з’єднання
-     * @return готовий DataSource
+     * @param readOnly             чи є з'єднання пулу лише для читання
+     * @return готовий пул з'єднань
      */
-    private DataSource createDataSource(Properties connectionProperties) {
-        String url = String.format(POSTGRES_URL_TEMPLATE, postgresHost, postgresPort, database);
-
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName("org.postgresql.Driver");
-        dataSource.setUrl(url);
-        dataSource.setUsername(username);
-        dataSource.setPassword(password);
-        dataSource.setConnectionProperties(connectionProperties);
+    private HikariDataSource createDataSource(String poolName, String host, int port, PoolSettings settings,
+                                              Properties connectionProperties, boolean readOnly) {
+        String url = String.format(POSTGRES_URL_TEMPLATE, host, port, database);
 
-        return dataSource;
+        return ConnectionPools.create(poolName, "org.postgresql.Driver", url, username, password,
+                settings, connectionProperties, connectionPoolMetrics, readOnly);
     }
-}
\ No newline at end of file
+}
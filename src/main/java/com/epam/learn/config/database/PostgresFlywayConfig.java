@@ -10,6 +10,8 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
 
 import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
 
 @Slf4j
 @Configuration
@@ -20,14 +22,15 @@ public class PostgresFlywayConfig {
     private Environment env;
 
     /**
-     * Creates and configures a Flyway instance for database migrations.
-     * This bean is explicitly configured to use the dedicated flywayDataSource.
+     * Creates and configures a Flyway instance and runs the database migrations.
+     * This bean is explicitly configured to use the dedicated flywayDataSource,
+     * which is closed as soon as the migrations have completed.
      * This bean is only created when the default profile is active (PostgreSQL).
      *
      * @param flywayDataSource the dedicated data source for Flyway migrations
      * @return the configured Flyway instance
      */
-    @Bean(name = "flyway", initMethod = "migrate")
+    @Bean(name = "flyway")
     public Flyway flyway(@Qualifier("flywayDataSource") DataSource flywayDataSource) {
         LOGGER.info("Configuring Flyway with properties from application.properties");
 
@@ -43,7 +46,7 @@ public class PostgresFlywayConfig {
         LOGGER.info("Flyway configuration: locations={}, baselineOnMigrate={}, validateOnMigrate={}, cleanDisabled={}, skipDefaultResolvers={}, skipDefaultCallbacks={}, group={}, connectRetries={}",
                 locations, baselineOnMigrate, validateOnMigrate, cleanDisabled, skipDefaultResolvers, skipDefaultCallbacks, group, connectRetries);
 
-        return Flyway.configure()
+        Flyway flyway = Flyway.configure()
                 .dataSource(flywayDataSource)
                 .locations(locations)
                 .baselineOnMigrate(baselineOnMigrate)
@@ -57,5 +60,29 @@ public class PostgresFlywayConfig {
                 .connectRetries(connectRetries)
                 .ignoreMigrationPatterns("*:missing")
                 .load();
+
+        try {
+            flyway.migrate();
+        } finally {
+            closeDataSource(flywayDataSource);
+        }
+        return flyway;
+    }
+
+    /**
+     * Releases the connections held by the Flyway data source once migrations are done,
+     * so they do not count against the database connection limit for the lifetime of the application.
+     *
+     * @param dataSource the data source to close
+     */
+    private void closeDataSource(DataSource dataSource) {
+        if (dataSource instanceof Closeable closeable) {
+            try {
+                closeable.close();
+                LOGGER.info("Flyway data source closed after migration");
+            } catch (IOException e) {
+                LOGGER.warn("Failed to close Flyway data source", e);
+            }
+        }
     }
 }
@@ -0,0 +1,41 @@
+package com.epam.learn.config.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.io.Closeable;
+
+/**
+ * Data source that takes the connections of read-only transactions from a separate pool.
+ * Connections are borrowed lazily, on the first statement, by which time the transaction manager
+ * has marked the connection read-only; so {@code @Transactional(readOnly = true)} methods run on the
+ * read-only pool and everything else on the read-write pool. The read-only pool can point to a replica.
+ * Closing this data source closes both pools.
+ */
+@Slf4j
+final class ReadOnlyRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final HikariDataSource readWritePool;
+    private final HikariDataSource readOnlyPool;
+
+    /**
+     * Creates a data source routing between the given pools.
+     *
+     * @param readWritePool the pool for read-write transactions and non-transactional access
+     * @param readOnlyPool  the pool for read-only transactions
+     */
+    ReadOnlyRoutingDataSource(HikariDataSource readWritePool, HikariDataSource readOnlyPool) {
+        super(readWritePool);
+        setReadOnlyDataSource(readOnlyPool);
+        this.readWritePool = readWritePool;
+        this.readOnlyPool = readOnlyPool;
+    }
+
+    @Override
+    public void close() {
+        LOGGER.info("Closing connection pools {} and {}", readWritePool.getPoolName(), readOnlyPool.getPoolName());
+        readOnlyPool.close();
+        readWritePool.close();
+    }
+}
@@ -0,0 +1,234 @@
+package com.epam.learn.config.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Records the startup steps of the application context, e.g. the creation of every bean, and reports where the
+ * startup time went. Set it on the context with
+ * {@link org.springframework.context.ConfigurableApplicationContext#setApplicationStartup} before it is refreshed.
+ *
+ * <p>Steps started while another step of the same thread is running are nested in it: the time of a bean includes
+ * the creation of the beans it depends on, and its self time does not. Steps may be started on any thread, e.g.
+ * the bootstrap of the {@code EntityManagerFactory} in the background or the deferred seeding of the storage.
+ * Application steps that end after the report has been logged, like a seeding that runs in the background,
+ * are logged on their own when they end.</p>
+ */
+@Slf4j
+public class StartupTimeline implements ApplicationStartup {
+
+    /**
+     * Step recorded by Spring for the creation of a bean, tagged with its name.
+     */
+    public static final String BEAN_STEP = "spring.beans.instantiate";
+
+    /**
+     * Step recorded by Spring for the refresh of the application context.
+     */
+    public static final String REFRESH_STEP = "spring.context.refresh";
+
+    /**
+     * Step recorded for the background bootstrap of the {@code EntityManagerFactory}.
+     */
+    public static final String JPA_BOOTSTRAP_STEP = "app.jpa.bootstrap";
+
+    /**
+     * Step recorded for the seeding of the storage.
+     */
+    public static final String STORAGE_SEED_STEP = "app.storage.seed";
+
+    /**
+     * Beans whose creation is a startup phase of its own: the connection pools, the Flyway migration
+     * and the EntityManagerFactory.
+     */
+    private static final Set<String> PHASE_BEANS = Set.of("dataSource", "flywayDataSource", "flyway", "entityManagerFactory");
+
+    private final AtomicLong ids = new AtomicLong();
+    private final ThreadLocal<Deque<Step>> running = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+    private volatile boolean reported;
+
+    @Override
+    public StartupStep start(String name) {
+        Deque<Step> stack = running.get();
+        Step step = new Step(ids.incrementAndGet(), name, stack.peek());
+        stack.push(step);
+        return step;
+    }
+
+    /**
+     * Returns the steps ended so far, in the order they ended.
+     *
+     * @return the recorded steps
+     */
+    public List<Entry> entries() {
+        return List.copyOf(entries);
+    }
+
+    /**
+     * Logs the duration of the context refresh, of the steps of the application (e.g. Flyway, the
+     * {@code EntityManagerFactory} and the seeding of the storage) and of the beans with the longest self time.
+     *
+     * @param topBeans the number of beans to list
+     */
+    public void logReport(int topBeans) {
+        // Steps ending from now on are logged when they end
+        reported = true;
+        List<Entry> recorded = entries();
+        StringBuilder report = new StringBuilder("Startup timeline:");
+        for (Entry entry : recorded) {
+            if (entry.name().equals(REFRESH_STEP) || isApplicationStep(entry)
+                    || entry.name().equals(BEAN_STEP) && PHASE_BEANS.contains(entry.beanName())) {
+                report.append(formatStep(entry));
+            }
+        }
+
+        report.append(String.format("%n  Slowest beans (self time / total, ms):"));
+        recorded.stream()
+                .filter(entry -> entry.name().equals(BEAN_STEP))
+                .sorted(Comparator.comparingLong(Entry::selfNanos).reversed())
+                .limit(topBeans)
+                .forEach(entry -> report.append(String.format("%n  %-40s %6d / %6d  [%s]",
+                        entry.label(), entry.selfNanos() / 1_000_000, entry.millis(), entry.thread())));
+        LOGGER.info(report.toString());
+    }
+
+    private static boolean isApplicationStep(Entry entry) {
+        return entry.name().startsWith("app.");
+    }
+
+    private static String formatStep(Entry entry) {
+        return String.format("%n  %-40s %6d ms  [%s]", entry.label(), entry.millis(), entry.thread());
+    }
+
+    /**
+     * A startup step that has ended.
+     *
+     * @param name      the name of the step
+     * @param beanName  the name of the bean for bean steps, otherwise null
+     * @param thread    the thread that ran the step
+     * @param nanos     the duration of the step, including nested steps
+     * @param selfNanos the duration of the step without nested steps
+     */
+    public record Entry(String name, String beanName, String thread, long nanos, long selfNanos) {
+
+        /**
+         * Returns the duration of the step.
+         *
+         * @return the duration in milliseconds
+         */
+        public long millis() {
+            return nanos / 1_000_000;
+        }
+
+        private String label() {
+            return beanName != null ? beanName : name;
+        }
+    }
+
+    private final class Step implements StartupStep {
+
+        private final long id;
+        private final String name;
+        private final Step parent;
+        private final long start = System.nanoTime();
+        private final List<Tag> tags = new ArrayList<>(2);
+        private long nestedNanos;
+        private boolean ended;
+
+        private Step(long id, String name, Step parent) {
+            this.id = id;
+            this.name = name;
+            this.parent = parent;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getParentId() {
+            return parent != null ? parent.id : null;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            tags.add(new SimpleTag(key, value));
+            return this;
+        }
+
+        @Override
+        public StartupStep tag(String key, Supplier<String> value) {
+            return tag(key, value.get());
+        }
+
+        @Override
+        public Tags getTags() {
+            return tags::iterator;
+        }
+
+        @Override
+        public void end() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            long nanos = System.nanoTime() - start;
+            if (parent != null) {
+                parent.nestedNanos += nanos;
+            }
+            running.get().remove(this);
+            String beanName = tagValue("beanName");
+            if (beanName != null) {
+                // Factory beans such as the EntityManagerFactory are created under their '&'-prefixed name
+                beanName = BeanFactoryUtils.transformedBeanName(beanName);
+            }
+            Entry entry = new Entry(name, beanName, Thread.currentThread().getName(), nanos, nanos - nestedNanos);
+            entries.add(entry);
+            if (reported && isApplicationStep(entry)) {
+                LOGGER.info("Startup timeline, ended after the report:{}", formatStep(entry));
+            }
+        }
+
+        private String tagValue(String key) {
+            for (Tag tag : tags) {
+                if (tag.getKey().equals(key)) {
+                    return tag.getValue();
+                }
+            }
+            return null;
+        }
+    }
+
+    private record SimpleTag(String key, String value) implements StartupStep.Tag {
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.epam.learn.config.storage;
+
+import com.epam.learn.dao.bulk.BulkLoader;
+import com.epam.learn.dao.bulk.TrainerAssignment;
+import com.epam.learn.model.training.Training;
+import com.epam.learn.model.training.TrainingType;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.model.user.Trainer;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Imports a data file into the database while reading it, so that memory use does not depend on the size of the file.
+ *
+ * <p>The file is a JSON object with the arrays {@code trainingTypes}, {@code trainees}, {@code trainers},
+ * {@code trainings} and {@code traineeTrainerRelationships}, in any order; other fields are skipped.
+ * The import runs as a pipeline of three stages connected by bounded queues, so that a slower stage holds back
+ * the faster ones instead of letting elements pile up in memory:</p>
+ * <ol>
+ *     <li>parse: a thread of its own reads the elements of the arrays one at a time;</li>
+ *     <li>resolve: the calling thread checks the references of every element and passes it on once
+ *     the entities it references have been written;</li>
+ *     <li>write: a {@link WriteStage} commits the elements in chunks from several threads.</li>
+ * </ol>
+ *
+ * <p>The IDs written so far are kept in compact {@link UuidSet}s; an element that references an ID that has not
+ * been seen yet is set aside under that ID and written once it appears. Elements whose references never appear
+ * in the file are written at the end and must refer to rows already in the database. Everything written under one
+ * array is committed before anything of another array is written, so training types are in the database before
+ * the trainers of that specialization, and users before their trainings and assignments.</p>
+ *
+ * <p>Not thread-safe; use one instance per import.</p>
+ */
+@Slf4j
+public class JsonDataImporter {
+
+    /**
+     * Marks the end of the data file in the queue of parsed elements.
+     */
+    private static final Element END = new Element(null, null);
+
+    private final ObjectMapper objectMapper;
+    private final BulkLoader bulkLoader;
+    private final int writerCount;
+    private final int queueCapacity;
+
+    private final Map<Section, UuidSet> writtenIds = new EnumMap<>(Section.class);
+    private final Map<UUID, List<Element>> waiting = new HashMap<>();
+    private final List<Element> ready = new ArrayList<>();
+    private final Map<String, StageMetrics> metrics = new ConcurrentHashMap<>();
+    private long deferred;
+
+    /**
+     * Creates an importer.
+     *
+     * @param objectMapper  the mapper that binds the elements of the file
+     * @param bulkLoader    the loader that writes them
+     * @param writerCount   the number of threads, and connections, that write in parallel
+     * @param queueCapacity the number of chunks that may wait for each writer; the parse stage reads ahead
+     *                      at most this many chunks of elements
+     */
+    public JsonDataImporter(ObjectMapper objectMapper, BulkLoader bulkLoader, int writerCount, int queueCapacity) {
+        this.objectMapper = objectMapper;
+        this.bulkLoader = bulkLoader;
+        this.writerCount = writerCount;
+        this.queueCapacity = queueCapacity;
+        for (Section section : Section.values()) {
+            writtenIds.put(section, new UuidSet());
+        }
+    }
+
+    /**
+     * Reads the data file from the given stream and writes its content to the database.
+     * The stream is not closed.
+     *
+     * @param inputStream the stream of the data file
+     * @throws IOException if the file cannot be read or is not a valid data file
+     */
+    public void importFrom(InputStream inputStream) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream);
+             WriteStage writeStage = new WriteStage(bulkLoader, writerCount, queueCapacity)) {
+            ParseStage parseStage = new ParseStage(parser, queueCapacity * bulkLoader.getChunkSize());
+            Thread parseThread = new Thread(parseStage, "storage-import-parser");
+            parseThread.setDaemon(true);
+            parseThread.start();
+
+            try {
+                resolve(parseStage, writeStage);
+            } finally {
+                parseThread.interrupt();
+                parseThread.join();
+                metrics.put("parse", parseStage.metrics());
+                metrics.put("write", writeStage.metrics());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        }
+
+        LOGGER.info("importFrom:: import finished, {} elements were written after the entities they reference, "
+                + "stages: {}", deferred, metrics);
+    }
+
+    /**
+     * Returns the metrics of the stages of the import, keyed by the stage names {@code parse}, {@code resolve} and
+     * {@code write}. The resolve stage waits for room in the queues of the writers and for every array to be
+     * committed before the next one.
+     *
+     * @return the metrics of the stages, complete once {@link #importFrom(InputStream)} has returned
+     */
+    public Map<String, StageMetrics> metrics() {
+        return Map.copyOf(metrics);
+    }
+
+    /**
+     * Runs the resolve stage: takes the parsed elements and passes those whose references have been written
+     * on to the write stage.
+     */
+    private void resolve(ParseStage parseStage, WriteStage writeStage) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        long waitNanos = 0;
+        long items = 0;
+
+        while (true) {
+            long takeStart = System.nanoTime();
+            Element element = parseStage.queue.take();
+            waitNanos += System.nanoTime() - takeStart;
+            if (element == END) {
+                break;
+            }
+
+            if (element.value() == null) {
+                // End of an array: the elements it released may be written now
+                items += writeReady(writeStage);
+            } else if (resolve(element)) {
+                write(writeStage, element.section().field, element);
+                items++;
+            } else {
+                deferred++;
+            }
+        }
+        parseStage.rethrowFailure();
+
+        items += writeReady(writeStage);
+        items += writeUnresolved(writeStage);
+        writeStage.finish();
+
+        // Waiting for parsed elements is idle time rather than backpressure, so it is left out of both
+        long busyMillis = (System.nanoTime() - start - waitNanos) / 1_000_000 - writeStage.blockedMillis();
+        metrics.put("resolve", new StageMetrics(items, busyMillis, writeStage.blockedMillis()));
+    }
+
+    /**
+     * Writes the elements set aside until now whose references have all been written.
+     * Writing them can in turn release other elements, so this repeats until none are left.
+     *
+     * @return the number of elements written
+     */
+    private long writeReady(WriteStage writeStage) throws InterruptedException {
+        long items = 0;
+        while (!ready.isEmpty()) {
+            List<Element> batch = new ArrayList<>(ready);
+            ready.clear();
+            for (Section section : Section.values()) {
+                for (Element element : batch) {
+                    if (element.section() == section) {
+                        write(writeStage, section.field + ".deferred", element);
+                        items++;
+                    }
+                }
+            }
+        }
+        return items;
+    }
+
+    private long writeUnresolved(WriteStage writeStage) throws InterruptedException {
+        if (waiting.isEmpty()) {
+            return 0;
+        }
+
+        LOGGER.warn("writeUnresolved:: {} IDs referenced in the data file were not found in it, "
+                + "the elements referencing them are expected to refer to existing rows", waiting.size());
+        List<Element> unresolved = new ArrayList<>();
+        waiting.values().forEach(unresolved::addAll);
+        waiting.clear();
+        for (Section section : Section.values()) {
+            for (Element element : unresolved) {
+                if (element.section() == section) {
+                    writeStage.submit(section.field + ".unresolved", section.key(element.value()), element.value());
+                }
+            }
+        }
+        return unresolved.size();
+    }
+
+    /**
+     * Passes the element on to the write stage, records its ID and releases the elements that were waiting for it.
+     */
+    private void write(WriteStage writeStage, String name, Element element) throws InterruptedException {
+        Section section = element.section();
+        writeStage.submit(name, section.key(element.value()), element.value());
+
+        UUID id = section.id(element.value());
+        if (id == null || !writtenIds.get(section).add(id)) {
+            return;
+        }
+        List<Element> released = waiting.remove(id);
+        if (released != null) {
+            for (Element waiter : released) {
+                if (resolve(waiter)) {
+                    ready.add(waiter);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether every entity referenced by the element has been written;
+     * if not, sets the element aside under the first missing ID.
+     *
+     * @return true if the element can be written now
+     */
+    private boolean resolve(Element element) {
+        for (Reference reference : element.section().references(element.value())) {
+            if (reference.id() != null && !writtenIds.get(reference.section()).contains(reference.id())) {
+                waiting.computeIfAbsent(reference.id(), id -> new ArrayList<>(1)).add(element);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parse stage: reads the elements of the arrays of the data file into a bounded queue, followed by
+     * an element without a value at the end of every array and by {@link #END} at the end of the file.
+     */
+    private final class ParseStage implements Runnable {
+
+        private final JsonParser parser;
+        private final BlockingQueue<Element> queue;
+        private volatile IOException failure;
+        private volatile StageMetrics metrics = new StageMetrics(0, 0, 0);
+
+        private ParseStage(JsonParser parser, int capacity) {
+            this.parser = parser;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            long waitNanos = 0;
+            long items = 0;
+            try {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IOException("Data file must contain a JSON object");
+                }
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken token = parser.nextToken();
+                    Section section = Section.forField(field);
+                    if (section == null || token != JsonToken.START_ARRAY) {
+                        LOGGER.warn("run:: skipping unexpected field '{}'", field);
+                        parser.skipChildren();
+                        continue;
+                    }
+
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        Element element = new Element(section, objectMapper.readValue(parser, section.type));
+                        waitNanos += put(element);
+                        items++;
+                    }
+                    waitNanos += put(new Element(section, null));
+                }
+            } catch (IOException | RuntimeException e) {
+                failure = e instanceof IOException ioException ? ioException : new IOException(e.getMessage(), e);
+            } catch (InterruptedException e) {
+                // The resolve stage has stopped, nothing waits for the remaining elements
+                return;
+            } finally {
+                metrics = new StageMetrics(items, (System.nanoTime() - start - waitNanos) / 1_000_000, waitNanos / 1_000_000);
+            }
+
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private long put(Element element) throws InterruptedException {
+            long start = System.nanoTime();
+            queue.put(element);
+            return System.nanoTime() - start;
+        }
+
+        private void rethrowFailure() throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private StageMetrics metrics() {
+            return metrics;
+        }
+    }
+
+    /**
+     * An element read from one of the arrays of the data file.
+     */
+    private record Element(Section section, Object value) {
+    }
+
+    /**
+     * A reference from an element to an entity of another section.
+     */
+    private record Reference(Section section, UUID id) {
+    }
+
+    /**
+     * The arrays of the data file, with the ID of each element and the IDs it references.
+     */
+    private enum Section {
+        TRAINING_TYPES("trainingTypes", TrainingType.class) {
+            @Override
+            UUID id(Object value) {
+                return ((TrainingType) value).getId();
+            }
+        },
+        TRAINEES("trainees", Trainee.class) {
+            @Override
+            UUID id(Object value) {
+                return ((Trainee) value).getId();
+            }
+        },
+        TRAINERS("trainers", Trainer.class) {
+            @Override
+            UUID id(Object value) {
+                return ((Trainer) value).getId();
+            }
+
+            @Override
+            List<Reference> references(Object value) {
+                TrainingType specialization = ((Trainer) value).getSpecialization();
+                return specialization == null ? List.of() : List.of(new Reference(TRAINING_TYPES, specialization.getId()));
+            }
+        },
+        TRAININGS("trainings", Training.class) {
+            @Override
+            Object key(Object value) {
+                return ((Training) value).getId();
+            }
+
+            @Override
+            List<Reference> references(Object value) {
+                Training training = (Training) value;
+                List<Reference> references = new ArrayList<>(3);
+                if (training.getTrainingType() != null) {
+                    references.add(new Reference(TRAINING_TYPES, training.getTrainingType().getId()));
+                }
+                if (training.getTrainee() != null) {
+                    references.add(new Reference(TRAINEES, training.getTrainee().getId()));
+                }
+                if (training.getTrainer() != null) {
+                    references.add(new Reference(TRAINERS, training.getTrainer().getId()));
+                }
+                return references;
+            }
+        },
+        TRAINER_ASSIGNMENTS("traineeTrainerRelationships", TrainerAssignment.class) {
+            @Override
+            Object key(Object value) {
+                return value;
+            }
+
+            @Override
+            List<Reference> references(Object value) {
+                TrainerAssignment assignment = (TrainerAssignment) value;
+                return List.of(new Reference(TRAINEES, assignment.traineeId()), new Reference(TRAINERS, assignment.trainerId()));
+            }
+        };
+
+        private final String field;
+        private final Class<?> type;
+
+        Section(String field, Class<?> type) {
+            this.field = field;
+            this.type = type;
+        }
+
+        static Section forField(String field) {
+            for (Section section : values()) {
+                if (section.field.equals(field)) {
+                    return section;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Gets the ID by which other elements reference the given element.
+         *
+         * @return the ID, or null if elements of this section are not referenced
+         */
+        UUID id(Object value) {
+            return null;
+        }
+
+        /**
+         * Gets the key by which the given element is assigned to a writer. Elements with the same key are
+         * written by the same writer, so that duplicates in the file do not race each other.
+         */
+        Object key(Object value) {
+            return id(value);
+        }
+
+        /**
+         * Gets the references of the given element to elements of other sections.
+         */
+        List<Reference> references(Object value) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.epam.learn.config.storage;
+
+/**
+ * Point-in-time metrics of one stage of an import.
+ *
+ * @param items      the number of items the stage has passed on: elements for the parse and resolve stages,
+ *                   rows for the write stage
+ * @param busyMillis the time the stage spent working, summed over its threads
+ * @param waitMillis the time the stage spent blocked on a queue, summed over its threads: waiting for room
+ *                   in the queue to the next stage (backpressure) for the parse and resolve stages, and
+ *                   waiting for chunks for the write stage
+ */
+public record StageMetrics(long items, long busyMillis, long waitMillis) {
+
+    /**
+     * Returns the throughput of the stage while it was working.
+     *
+     * @return the items passed on per second of busy time, or 0 if the stage has not worked yet
+     */
+    public double itemsPerSecond() {
+        return busyMillis > 0 ? items * 1000.0 / busyMillis : 0;
+    }
+}
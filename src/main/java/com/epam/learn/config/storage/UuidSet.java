@@ -0,0 +1,96 @@
+package com.epam.learn.config.storage;
+
+import java.util.UUID;
+
+/**
+ * Set of UUIDs stored as pairs of longs in open-addressing arrays, without a boxed object per element.
+ * It takes about 32 bytes per element, several times less than a {@code HashSet<UUID>}.
+ * Not thread-safe.
+ */
+final class UuidSet {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] mostSignificantBits = new long[INITIAL_CAPACITY];
+    private long[] leastSignificantBits = new long[INITIAL_CAPACITY];
+    private int size;
+
+    // All-zero slots mark empty entries, so the nil UUID is tracked separately
+    private boolean containsNil;
+
+    /**
+     * Adds the given UUID to the set.
+     *
+     * @param id the UUID to add
+     * @return true if the set did not already contain the UUID
+     */
+    boolean add(UUID id) {
+        long most = id.getMostSignificantBits();
+        long least = id.getLeastSignificantBits();
+        if (most == 0 && least == 0) {
+            boolean added = !containsNil;
+            containsNil = true;
+            return added;
+        }
+        if ((size + 1) * 2 > mostSignificantBits.length) {
+            grow();
+        }
+        return insert(most, least);
+    }
+
+    /**
+     * Checks whether the set contains the given UUID.
+     *
+     * @param id the UUID to look up
+     * @return true if the set contains the UUID
+     */
+    boolean contains(UUID id) {
+        long most = id.getMostSignificantBits();
+        long least = id.getLeastSignificantBits();
+        if (most == 0 && least == 0) {
+            return containsNil;
+        }
+        int mask = mostSignificantBits.length - 1;
+        for (int i = index(most, least) & mask; ; i = (i + 1) & mask) {
+            if (mostSignificantBits[i] == most && leastSignificantBits[i] == least) {
+                return true;
+            }
+            if (mostSignificantBits[i] == 0 && leastSignificantBits[i] == 0) {
+                return false;
+            }
+        }
+    }
+
+    private boolean insert(long most, long least) {
+        int mask = mostSignificantBits.length - 1;
+        int i = index(most, least) & mask;
+        while (mostSignificantBits[i] != 0 || leastSignificantBits[i] != 0) {
+            if (mostSignificantBits[i] == most && leastSignificantBits[i] == least) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        mostSignificantBits[i] = most;
+        leastSignificantBits[i] = least;
+        size++;
+        return true;
+    }
+
+    private void grow() {
+        long[] oldMost = mostSignificantBits;
+        long[] oldLeast = leastSignificantBits;
+        mostSignificantBits = new long[oldMost.length * 2];
+        leastSignificantBits = new long[oldLeast.length * 2];
+        size = 0;
+        for (int i = 0; i < oldMost.length; i++) {
+            if (oldMost[i] != 0 || oldLeast[i] != 0) {
+                insert(oldMost[i], oldLeast[i]);
+            }
+        }
+    }
+
+    private static int index(long most, long least) {
+        long hash = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,215 @@
+package com.epam.learn.config.storage;
+
+import com.epam.learn.dao.bulk.BulkLoader;
+import com.epam.learn.dao.bulk.TrainerAssignment;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Write stage of an import: writes the submitted values through several {@link BulkLoader.Writer}s in parallel,
+ * each on a thread and a connection of its own.
+ *
+ * <p>Values are partitioned by a key, so values with the same key are always written by the same writer, in the
+ * order they were submitted. Each writer has a bounded queue of chunks; when it is full, {@link #submit} blocks
+ * until the writer catches up. Whenever the name of the load changes, everything submitted under the previous
+ * name is committed first, so values may reference values submitted under an earlier name.</p>
+ *
+ * <p>Values are submitted from one thread. The first failure of a writer is rethrown to that thread by the next
+ * {@link #submit} or {@link #finish}.</p>
+ */
+@Slf4j
+final class WriteStage implements AutoCloseable {
+
+    private final BulkLoader bulkLoader;
+    private final int chunkSize;
+    private final List<BlockingQueue<Chunk>> queues = new ArrayList<>();
+    private final List<List<Object>> buffers = new ArrayList<>();
+    private final ExecutorService executor;
+
+    // The submitting thread plus one party per chunk that has not been written yet
+    private final Phaser pending = new Phaser(1);
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong idleNanos = new AtomicLong();
+    private long blockedNanos;
+
+    private String load;
+    private List<BulkLoader.Writer> writers = List.of();
+
+    WriteStage(BulkLoader bulkLoader, int writerCount, int queueCapacity) {
+        if (writerCount <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Writer count and queue capacity must be positive");
+        }
+        this.bulkLoader = bulkLoader;
+        this.chunkSize = bulkLoader.getChunkSize();
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(writerCount, task -> {
+            Thread thread = new Thread(task, "storage-import-writer-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < writerCount; i++) {
+            BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            buffers.add(new ArrayList<>(chunkSize));
+            executor.execute(() -> write(queue));
+        }
+    }
+
+    /**
+     * Submits a value to be written under the given load name.
+     *
+     * @param name  the name of the load, see {@link BulkLoader#openWriters(String, int)}
+     * @param key   the key that selects the writer
+     * @param value an entity, or a {@link TrainerAssignment}
+     * @throws InterruptedException if interrupted while waiting for a writer
+     */
+    void submit(String name, Object key, Object value) throws InterruptedException {
+        if (!name.equals(load)) {
+            finish();
+            writers = bulkLoader.openWriters(name, queues.size());
+            load = name;
+        }
+
+        int partition = Math.floorMod(key.hashCode(), buffers.size());
+        List<Object> buffer = buffers.get(partition);
+        buffer.add(value);
+        if (buffer.size() == chunkSize) {
+            dispatch(partition);
+        }
+    }
+
+    /**
+     * Waits until everything submitted so far is committed and closes the writers of the current load.
+     *
+     * @throws InterruptedException if interrupted while waiting for the writers
+     */
+    void finish() throws InterruptedException {
+        for (int partition = 0; partition < buffers.size(); partition++) {
+            if (!buffers.get(partition).isEmpty()) {
+                dispatch(partition);
+            }
+        }
+
+        long start = System.nanoTime();
+        pending.awaitAdvanceInterruptibly(pending.arrive());
+        blockedNanos += System.nanoTime() - start;
+
+        closeWriters();
+        rethrowFailure();
+    }
+
+    /**
+     * Returns the metrics of the writers.
+     */
+    StageMetrics metrics() {
+        return new StageMetrics(rows.get(), busyNanos.get() / 1_000_000, idleNanos.get() / 1_000_000);
+    }
+
+    /**
+     * Returns the time the submitting thread spent blocked on full queues and waiting for loads to be committed.
+     */
+    long blockedMillis() {
+        return blockedNanos / 1_000_000;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOGGER.warn("close:: writer threads did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeWriters();
+    }
+
+    private void dispatch(int partition) throws InterruptedException {
+        rethrowFailure();
+        Chunk chunk = new Chunk(writers.get(partition), buffers.get(partition));
+        buffers.set(partition, new ArrayList<>(chunkSize));
+
+        pending.register();
+        long start = System.nanoTime();
+        try {
+            queues.get(partition).put(chunk);
+        } catch (InterruptedException e) {
+            pending.arriveAndDeregister();
+            throw e;
+        } finally {
+            blockedNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Writes the chunks of one queue until the stage is closed. After a failure of any writer,
+     * the remaining chunks are taken but not written, so that the submitting thread is not blocked.
+     */
+    private void write(BlockingQueue<Chunk> queue) {
+        try {
+            while (true) {
+                long start = System.nanoTime();
+                Chunk chunk = queue.take();
+                idleNanos.addAndGet(System.nanoTime() - start);
+
+                start = System.nanoTime();
+                try {
+                    if (failure.get() == null) {
+                        rows.addAndGet(chunk.write());
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.error("write:: failed to write a chunk of {} values", chunk.values().size(), e);
+                    failure.compareAndSet(null, e);
+                } finally {
+                    busyNanos.addAndGet(System.nanoTime() - start);
+                    pending.arriveAndDeregister();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeWriters() {
+        writers.forEach(BulkLoader.Writer::close);
+        writers = List.of();
+        load = null;
+    }
+
+    private void rethrowFailure() {
+        RuntimeException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    /**
+     * Values to be written by one writer in one transaction.
+     */
+    private record Chunk(BulkLoader.Writer writer, List<Object> values) {
+
+        @SuppressWarnings("unchecked")
+        int write() {
+            if (values.get(0) instanceof TrainerAssignment) {
+                return writer.insertTrainerAssignments((List<TrainerAssignment>) (List<?>) values);
+            }
+            return writer.upsert(values);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.epam.learn.console;
 
+import com.epam.learn.config.CacheStatistics;
 import com.epam.learn.model.PagedResponse;
 import com.epam.learn.model.training.Training;
+import com.epam.learn.model.training.TrainingView;
 import com.epam.learn.model.training.TrainingType;
 import com.epam.learn.model.user.Trainee;
 import com.epam.learn.model.user.Trainer;
@@ -21,6 +23,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.UUID;
 
@@ -39,6 +42,7 @@ public class ConsoleApplication implements CommandLineRunner {
     private final TrainerService trainerService;
     private final TrainingService trainingService;
     private final TrainingTypeService trainingTypeService;
+    private final CacheStatistics cacheStatistics;
 
     private final Scanner scanner = new Scanner(System.in);
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -110,6 +114,11 @@ public class ConsoleApplication implements CommandLineRunner {
                             getTraineesByTrainerUsername();
                         }
                     }
+                    case 14 -> {
+                        if (checkAuthentication()) {
+                            showCacheStatistics();
+                        }
+                    }
                     case 0 -> {
                         running = false;
                         LOGGER.info("Exiting application");
@@ -147,6 +156,7 @@ public class ConsoleApplication implements CommandLineRunner {
             System.out.println("11. Get Trainee Trainings List");
             System.out.println("12. Get Trainer Trainings List");
             System.out.println("13. Get Trainees by Trainer Username");
+            System.out.println("14. Show Cache Statistics");
         }
 
         System.out.println("0. Exit");
@@ -192,7 +202,7 @@ public class ConsoleApplication implements CommandLineRunner {
 
         System.out.println("\nTrainee profile created successfully!");
         System.out.println("Username: " + trainee.getUsername());
-        System.out.println("Password: " + trainee.getPassword());
+        System.out.println("Password: " + trainee.getGeneratedPassword());
     }
 
     private void createTrainerProfile() {
@@ -216,7 +226,7 @@ public class ConsoleApplication implements CommandLineRunner {
 
         System.out.println("\nTrainer profile created successfully!");
         System.out.println("Username: " + trainer.getUsername());
-        System.out.println("Password: " + trainer.getPassword());
+        System.out.println("Password: " + trainer.getGeneratedPassword());
     }
 
     private void authenticate() {
@@ -436,10 +446,11 @@ public class ConsoleApplication implements CommandLineRunner {
         System.out.println("\n----- Update Trainee's Trainers List -----");
 
         String username = getStringInput("Enter trainee username: ");
+        boolean activeOnly = getStringInput("Show only active trainers? (y/N): ").equalsIgnoreCase("y");
 
         // Get available trainers not assigned to the trainee
         System.out.println("\nAvailable trainers:");
-        PagedResponse<Trainer> availableTrainers = trainerService.getTrainersNotAssignedToTrainee(username, 0, 100);
+        PagedResponse<Trainer> availableTrainers = trainerService.getTrainersNotAssignedToTrainee(username, activeOnly, 0, 100);
 
         if (availableTrainers.content().isEmpty()) {
             System.out.println("No available trainers found.");
@@ -517,7 +528,7 @@ public class ConsoleApplication implements CommandLineRunner {
         }
 
         // Get trainings
-        PagedResponse<Training> trainings = trainingService.getTraineeTrainings(
+        PagedResponse<TrainingView> trainings = trainingService.getTraineeTrainingViews(
                 username, fromDate, toDate, trainerName, trainingType, 0, 100);
 
         // Display trainings
@@ -527,12 +538,12 @@ public class ConsoleApplication implements CommandLineRunner {
             return;
         }
 
-        for (Training training : trainings.content()) {
-            System.out.println("Name: " + training.getTrainingName());
-            System.out.println("Type: " + training.getTrainingType().getName());
-            System.out.println("Trainer: " + training.getTrainer().getFirstName() + " " + training.getTrainer().getLastName());
-            System.out.println("Date: " + training.getTrainingDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
-            System.out.println("Duration: " + training.getTrainingDuration() + " minutes");
+        for (TrainingView training : trainings.content()) {
+            System.out.println("Name: " + training.trainingName());
+            System.out.println("Type: " + training.trainingType());
+            System.out.println("Trainer: " + training.counterpartFirstName() + " " + training.counterpartLastName());
+            System.out.println("Date: " + training.trainingDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+            System.out.println("Duration: " + training.trainingDuration() + " minutes");
             System.out.println("-----");
         }
     }
@@ -557,7 +568,7 @@ public class ConsoleApplication implements CommandLineRunner {
         }
 
         // Get trainings
-        PagedResponse<Training> trainings = trainingService.getTrainerTrainings(
+        PagedResponse<TrainingView> trainings = trainingService.getTrainerTrainingViews(
                 username, fromDate, toDate, traineeName, 0, 100);
 
         // Display trainings
@@ -567,12 +578,12 @@ public class ConsoleApplication implements CommandLineRunner {
             return;
         }
 
-        for (Training training : trainings.content()) {
-            System.out.println("Name: " + training.getTrainingName());
-            System.out.println("Type: " + training.getTrainingType().getName());
-            System.out.println("Trainee: " + training.getTrainee().getFirstName() + " " + training.getTrainee().getLastName());
-            System.out.println("Date: " + training.getTrainingDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
-            System.out.println("Duration: " + training.getTrainingDuration() + " minutes");
+        for (TrainingView training : trainings.content()) {
+            System.out.println("Name: " + training.trainingName());
+            System.out.println("Type: " + training.trainingType());
+            System.out.println("Trainee: " + training.counterpartFirstName() + " " + training.counterpartLastName());
+            System.out.println("Date: " + training.trainingDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+            System.out.println("Duration: " + training.trainingDuration() + " minutes");
             System.out.println("-----");
         }
     }
@@ -622,6 +633,23 @@ public class ConsoleApplication implements CommandLineRunner {
         }
     }
 
+    private void showCacheStatistics() {
+        System.out.println("\n----- Cache Statistics -----");
+
+        if (!cacheStatistics.isEnabled()) {
+            System.out.println("Statistics are not collected. "
+                    + "Set spring.jpa.properties.hibernate.generate_statistics=true to enable them.");
+            return;
+        }
+
+        for (Map.Entry<String, CacheStatistics.Snapshot> entry : cacheStatistics.snapshots().entrySet()) {
+            CacheStatistics.Snapshot snapshot = entry.getValue();
+            System.out.printf("%-20s hits: %d, misses: %d, puts: %d, entries: %d, hit ratio: %.1f%%%n",
+                    entry.getKey(), snapshot.hits(), snapshot.misses(), snapshot.puts(), snapshot.elements(),
+                    snapshot.hitRatio() * 100);
+        }
+    }
+
     private LocalDate parseDateInput(String prompt, DateTimeFormatter dateFormatter) {
         String dateStr = getStringInput(prompt);
         if (!dateStr.isEmpty()) {
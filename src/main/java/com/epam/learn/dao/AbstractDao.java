@@ -1,59 +1,115 @@
 package com.epam.learn.dao;
 
+import com.epam.learn.dao.bulk.BulkUpsert;
+import com.epam.learn.dao.bulk.UpsertDialect;
+import com.epam.learn.dao.bulk.UpsertTable;
+import com.epam.learn.dao.query.QueryTemplate;
 import com.epam.learn.exception.EntityNotFoundException;
+import com.epam.learn.model.CursorPagedResponse;
 import com.epam.learn.model.EntityType;
 import com.epam.learn.model.PagedResponse;
+import com.epam.learn.model.SlicedResponse;
 import com.epam.learn.util.validate.DaoValidator;
+import jakarta.persistence.AttributeNode;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Subgraph;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.FlushMode;
+import org.hibernate.Hibernate;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.Query;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Abstract implementation of GenericDao using JPA.
  * This class provides the base implementation for all DAOs that use JPA.
  *
+ * <p>Methods of the DAOs run in read-only transactions unless they are annotated otherwise:
+ * Hibernate skips the dirty-checking snapshots and the flush, and the connection is taken
+ * from the read-only pool. Methods that write declare {@code @Transactional} themselves, and fail when called
+ * from a read-only transaction.</p>
+ *
  * @param <T> the entity type
  */
 @Slf4j
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public abstract class AbstractDao<T> implements GenericDao<T> {
 
+    private static final String WINDOW_COUNT_PROPERTY = "dao.paging.window-count";
+
     protected final EntityManager entityManager;
     private final Class<T> entityClass;
 
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize = 50;
+
+    @Value("${dao.upsert.rows-per-statement:500}")
+    private int upsertRowsPerStatement = 500;
+
+    @Autowired
+    private RowCountEstimator rowCountEstimator;
+
+    private volatile BulkUpsert<T> bulkUpsert;
+
+    private boolean windowCountEnabled;
+
     @Override
     @Transactional
     public void save(T entity) {
         LOGGER.debug("Saving entity of type {}", entityClass.getSimpleName());
 
         try {
-            // Special handling for User subclasses (Trainer, Trainee)
-            if (entity.getClass().getSuperclass().getSimpleName().equals("User")) {
-                // Get the ID
-                Object id = entity.getClass().getMethod("getId").invoke(entity);
-
-                if (id != null) {
-                    // For entities with IDs, use merge
-                    entityManager.merge(entity);
-                    LOGGER.debug("User subclass entity merged successfully");
-                } else {
-                    // For new entities, use persist
-                    entityManager.persist(entity);
-                    LOGGER.debug("User subclass entity persisted successfully");
-                }
+            if (getIdentifier(entity) == null) {
+                // New entities are persisted, so that the generated ID is assigned to the given instance
+                entityManager.persist(entity);
+                LOGGER.debug("Entity persisted successfully");
             } else {
-                // For non-User entities, always use merge
+                // Entities with IDs are merged
                 entityManager.merge(entity);
                 LOGGER.debug("Entity merged successfully");
             }
@@ -65,11 +121,142 @@ public abstract class AbstractDao<T> implements GenericDao<T> {
         LOGGER.debug("Entity saved successfully");
     }
 
+    @Override
+    @Transactional
+    public void saveAll(Collection<T> entities) {
+        LOGGER.debug("Saving {} entities of type {} in batches of {}",
+                entities.size(), entityClass.getSimpleName(), batchSize);
+
+        int count = 0;
+        for (T entity : entities) {
+            if (getIdentifier(entity) == null) {
+                entityManager.persist(entity);
+            } else {
+                entityManager.merge(entity);
+            }
+
+            if (++count % batchSize == 0) {
+                flushAndClear();
+            }
+        }
+        flushAndClear();
+
+        LOGGER.debug("{} entities saved successfully", count);
+    }
+
+    @Override
+    @Transactional
+    public int upsertAll(Collection<T> entities) {
+        LOGGER.debug("Upserting {} entities of type {}", entities.size(), entityClass.getSimpleName());
+        if (entities.isEmpty()) {
+            return 0;
+        }
+        for (T entity : entities) {
+            DaoValidator.validateId(getIdentifier(entity), getEntityType().getName());
+        }
+
+        BulkUpsert<T> upsert = getBulkUpsert();
+        entityManager.flush();
+        int rows = entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> upsert.execute(connection, entities));
+
+        // Rows written past the persistence context may replace cached state
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManager.getEntityManagerFactory().getCache().evict(entityClass);
+                entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictQueryRegions();
+                rowCountEstimator.evict(entityClass);
+            }
+        });
+
+        LOGGER.debug("{} entities upserted successfully", rows);
+        return rows;
+    }
+
+    /**
+     * Gets the bulk upsert of this DAO, created on first use for the dialect of the database.
+     *
+     * @return the bulk upsert
+     * @throws UnsupportedOperationException if the DAO or the database do not support bulk upserts
+     */
+    private BulkUpsert<T> getBulkUpsert() {
+        if (bulkUpsert == null) {
+            List<UpsertTable<T>> tables = getUpsertTables();
+            if (tables.isEmpty()) {
+                throw new UnsupportedOperationException(
+                        "Bulk upsert is not supported for " + getEntityType().getName() + " entities");
+            }
+            Dialect dialect = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect();
+            bulkUpsert = new BulkUpsert<>(UpsertDialect.of(dialect), tables, upsertRowsPerStatement);
+        }
+        return bulkUpsert;
+    }
+
     @Override
     public Optional<T> findById(UUID id) {
         LOGGER.debug("Finding entity of type {} with id {}", entityClass.getSimpleName(), id);
-        T entity = entityManager.find(entityClass, id);
-        return Optional.ofNullable(entity);
+        String entityGraph = getDefaultEntityGraph();
+        if (entityGraph == null || isCacheable()) {
+            // Entities served from the second-level cache ignore a fetch graph, so the associations of the graph
+            // are initialized afterwards, which in turn are looked up in their cache regions
+            T entity = entityManager.find(entityClass, id, readOnlyHints());
+            if (entity != null && entityGraph != null) {
+                initializeGraph(entity, entityManager.getEntityGraph(entityGraph).getAttributeNodes());
+            }
+            return Optional.ofNullable(entity);
+        }
+
+        // Entities without a cache region are loaded together with the associations of the graph in one query
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> cq = cb.createQuery(entityClass);
+        Root<T> root = cq.from(entityClass);
+        cq.select(root).where(cb.equal(root.get("id"), id));
+
+        TypedQuery<T> query = entityManager.createQuery(cq);
+        applyReadOnlyHints(query);
+        applyEntityGraph(query, entityGraph);
+        return query.getResultList().stream().findFirst();
+    }
+
+    /**
+     * Checks whether the entities of this DAO are kept in a second-level cache region.
+     *
+     * @return true if the entity class is cacheable
+     */
+    private boolean isCacheable() {
+        return getEntityPersister(entityClass).canReadFromCache();
+    }
+
+    /**
+     * Initializes the associations named by the given attribute nodes of an entity graph, and those of their subgraphs.
+     *
+     * @param entity the entity or the proxy of an entity
+     * @param attributeNodes the attribute nodes of the graph
+     */
+    private void initializeGraph(Object entity, List<? extends AttributeNode<?>> attributeNodes) {
+        Object target = Hibernate.unproxy(entity);
+        EntityPersister persister = getEntityPersister(target.getClass());
+        for (AttributeNode<?> attributeNode : attributeNodes) {
+            Object value = persister.getPropertyValue(target, attributeNode.getAttributeName());
+            if (value == null) {
+                continue;
+            }
+            Hibernate.initialize(value);
+            for (Subgraph<?> subgraph : attributeNode.getSubgraphs().values()) {
+                initializeGraph(value, subgraph.getAttributeNodes());
+            }
+        }
+    }
+
+    private EntityPersister getEntityPersister(Class<?> type) {
+        return entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(type);
     }
 
     /**
@@ -82,7 +269,44 @@ public abstract class AbstractDao<T> implements GenericDao<T> {
      */
     protected PagedResponse<T> createPagedResponse(int page, int size, 
                                                  BiFunction<CriteriaBuilder, Root<T>, Predicate> predicateFunction) {
+        return createPagedResponse(page, size, predicateFunction, getDefaultEntityGraph());
+    }
+
+    /**
+     * Helper method to create a paged response with the given query conditions,
+     * loading the associations of the given entity graph in the same query.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @param predicateFunction a BiFunction that creates a Predicate based on the CriteriaBuilder and Root
+     * @param entityGraph the name of the entity graph to fetch, or null to use the mapped fetch types
+     * @return a paged response with the query results
+     */
+    protected PagedResponse<T> createPagedResponse(int page, int size,
+                                                 BiFunction<CriteriaBuilder, Root<T>, Predicate> predicateFunction,
+                                                 String entityGraph) {
+        return createPagedResponse(page, size, predicateFunction, null, entityGraph);
+    }
+
+    /**
+     * Helper method to create a paged response with the given query conditions and sort order.
+     * Paging is deterministic only if the order is total, e.g. ends with a unique column.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @param predicateFunction a BiFunction that creates a Predicate based on the CriteriaBuilder and Root
+     * @param orderFunction a BiFunction that creates the sort order; can be null for an unspecified order
+     * @param entityGraph the name of the entity graph to fetch, or null to use the mapped fetch types
+     * @return a paged response with the query results
+     */
+    protected PagedResponse<T> createPagedResponse(int page, int size,
+                                                 BiFunction<CriteriaBuilder, Root<T>, Predicate> predicateFunction,
+                                                 BiFunction<CriteriaBuilder, Root<T>, List<Order>> orderFunction,
+                                                 String entityGraph) {
         DaoValidator.validatePagination(page, size);
+        if (windowCountEnabled) {
+            return createWindowCountedPagedResponse(page, size, predicateFunction, orderFunction, entityGraph);
+        }
 
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
 
@@ -91,6 +315,9 @@ public abstract class AbstractDao<T> implements GenericDao<T> {
         Root<T> root = cq.from(entityClass);
         cq.select(root);
         cq.where(predicateFunction.apply(cb, root));
+        if (orderFunction != null) {
+            cq.orderBy(orderFunction.apply(cb, root));
+        }
 
         // Set up count query
         CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
@@ -99,10 +326,12 @@ public abstract class AbstractDao<T> implements GenericDao<T> {
         countQuery.where(predicateFunction.apply(cb, countRoot));
 
         // Execute count query
-        Long totalElements = entityManager.createQuery(countQuery).getSingleResult();
+        Long totalElements = applyReadOnlyHints(entityManager.createQuery(countQuery)).getSingleResult();
 
         // Execute main query with pagination
         TypedQuery<T> query = entityManager.createQuery(cq);
+        applyReadOnlyHints(query);
+        applyEntityGraph(query, entityGraph);
         query.setFirstResult(page * size);
         query.setMaxResults(size);
         List<T> results = query.getResultList();
@@ -113,6 +342,292 @@ public abstract class AbstractDao<T> implements GenericDao<T> {
         return new PagedResponse<>(results, page, size, totalElements.intValue(), totalPages);
     }
 
+    /**
+     * Creates a paged response whose rows and total come back from a single statement:
+     * every row carries {@code count(*) over ()}, which the database evaluates before applying the limit and offset,
+     * so the joins and predicates are evaluated once instead of once per query.
+     * A page past the end has no row to carry the total, so the count query is executed for it.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @param predicateFunction a BiFunction that creates a Predicate based on the CriteriaBuilder and Root
+     * @param orderFunction a BiFunction that creates the sort order; can be null for an unspecified order
+     * @param entityGraph the name of the entity graph to fetch, or null to use the mapped fetch types
+     * @return a paged response with the query results
+     */
+    private PagedResponse<T> createWindowCountedPagedResponse(int page, int size,
+                                                             BiFunction<CriteriaBuilder, Root<T>, Predicate> predicateFunction,
+                                                             BiFunction<CriteriaBuilder, Root<T>, List<Order>> orderFunction,
+                                                             String entityGraph) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<T> root = cq.from(entityClass);
+        cq.multiselect(root, cb.count(root, cb.createWindow()));
+        cq.where(predicateFunction.apply(cb, root));
+        if (orderFunction != null) {
+            cq.orderBy(orderFunction.apply(cb, root));
+        }
+
+        TypedQuery<Tuple> query = entityManager.createQuery(cq);
+        applyReadOnlyHints(query);
+        applyEntityGraph(query, entityGraph);
+        List<Tuple> rows = query
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+
+        return toWindowCountedPage(rows, page, size, () -> {
+            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+            Root<T> countRoot = countQuery.from(entityClass);
+            countQuery.select(cb.count(countRoot));
+            countQuery.where(predicateFunction.apply(cb, countRoot));
+            return applyReadOnlyHints(entityManager.createQuery(countQuery)).getSingleResult();
+        });
+    }
+
+    /**
+     * Creates a paged response from rows holding an entity and the window count of all matching rows.
+     * A page past the end has no row to carry the total, so the given count query is executed for it.
+     *
+     * @param rows the rows of the page
+     * @param page the page number
+     * @param size the page size
+     * @param countQuery executes the count query
+     * @return a paged response with the entities of the rows
+     */
+    private PagedResponse<T> toWindowCountedPage(List<Tuple> rows, int page, int size, LongSupplier countQuery) {
+        List<T> results = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            results.add(row.get(0, entityClass));
+        }
+
+        long totalElements;
+        if (!rows.isEmpty()) {
+            totalElements = rows.get(0).get(1, Long.class);
+        } else if (page == 0) {
+            totalElements = 0;
+        } else {
+            totalElements = countQuery.getAsLong();
+        }
+
+        int totalPages = (int) Math.ceil((double) totalElements / size);
+
+        return new PagedResponse<>(results, page, size, (int) totalElements, totalPages);
+    }
+
+    /**
+     * Helper method to create a paged response from a query template.
+     * The variant of the template is chosen by the names of the given parameters,
+     * so the caller only passes the parameters of the filters that apply.
+     * Like the criteria finders, the page and its total come back from one statement
+     * if window count paging is enabled for this DAO. The associations loaded with the entities
+     * are the fetch joins of the template; no entity graph is applied to the template queries,
+     * as Hibernate does not cache the translation of a query with an applied graph.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @param template the query template
+     * @param parameters the parameters to bind, keyed by name; must not contain null values
+     * @return a paged response with the query results
+     */
+    protected PagedResponse<T> createPagedResponse(int page, int size, QueryTemplate template,
+                                                 Map<String, Object> parameters) {
+        DaoValidator.validatePagination(page, size);
+        if (windowCountEnabled) {
+            List<Tuple> rows = createTemplateQuery(template.windowCountQuery(parameters.keySet()), Tuple.class, parameters)
+                    .setFirstResult(page * size)
+                    .setMaxResults(size)
+                    .getResultList();
+            return toWindowCountedPage(rows, page, size, () ->
+                    createTemplateQuery(template.countQuery(parameters.keySet()), Long.class, parameters)
+                            .getSingleResult());
+        }
+
+        Long totalElements = createTemplateQuery(template.countQuery(parameters.keySet()), Long.class, parameters)
+                .getSingleResult();
+
+        List<T> results = createTemplateQuery(template.selectQuery(parameters.keySet()), entityClass, parameters)
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+
+        int totalPages = size > 0 ? (int) Math.ceil((double) totalElements / size) : 0;
+
+        return new PagedResponse<>(results, page, size, totalElements.intValue(), totalPages);
+    }
+
+    /**
+     * Helper method to create a sliced response from a query template.
+     * Like {@link #createSlicedResponse(int, int, BiFunction)}, no count query is executed.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @param template the query template
+     * @param parameters the parameters to bind, keyed by name; must not contain null values
+     * @return a sliced response with the query results
+     */
+    protected SlicedResponse<T> createSlicedResponse(int page, int size, QueryTemplate template,
+                                                   Map<String, Object> parameters) {
+        DaoValidator.validatePagination(page, size);
+
+        List<T> results = createTemplateQuery(template.selectQuery(parameters.keySet()), entityClass, parameters)
+                .setFirstResult(page * size)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = results.size() > size;
+        List<T> content = hasNext ? results.subList(0, size) : results;
+
+        return new SlicedResponse<>(content, page, size, hasNext);
+    }
+
+    /**
+     * Helper method to create a keyset-paginated response from a query template.
+     * The parameters are expected to select the variant with the seek condition derived from the cursor
+     * of the previous page, and the template to be sorted by the same total order as the seek condition.
+     *
+     * @param size the page size
+     * @param template the query template
+     * @param parameters the parameters to bind, keyed by name; must not contain null values
+     * @param cursorFunction a Function that encodes the sort key of an entity into a continuation token
+     * @return a cursor-paged response with the query results
+     */
+    protected CursorPagedResponse<T> createCursorPagedResponse(int size, QueryTemplate template,
+                                                               Map<String, Object> parameters,
+                                                               Function<T, String> cursorFunction) {
+        DaoValidator.validatePageSize(size);
+
+        List<T> results = createTemplateQuery(template.selectQuery(parameters.keySet()), entityClass, parameters)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = results.size() > size;
+        List<T> content = hasNext ? results.subList(0, size) : results;
+        String nextCursor = hasNext ? cursorFunction.apply(content.get(content.size() - 1)) : null;
+
+        return new CursorPagedResponse<>(content, size, nextCursor, hasNext);
+    }
+
+    /**
+     * Helper method to create a paged response of a projection of a query template.
+     * The projection is read straight into the result type, so no entities are loaded into the persistence context.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @param resultClass the class of the projection
+     * @param template the query template
+     * @param projection the name of the projection of the template
+     * @param parameters the parameters to bind, keyed by name; must not contain null values
+     * @param <R> the projection type
+     * @return a paged response with the projected query results
+     */
+    protected <R> PagedResponse<R> createProjectedPagedResponse(int page, int size, Class<R> resultClass,
+                                                               QueryTemplate template, String projection,
+                                                               Map<String, Object> parameters) {
+        DaoValidator.validatePagination(page, size);
+
+        Long totalElements = createTemplateQuery(template.countQuery(parameters.keySet()), Long.class, parameters)
+                .getSingleResult();
+
+        List<R> results = createTemplateQuery(template.projectionQuery(projection, parameters.keySet()), resultClass, parameters)
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+
+        int totalPages = size > 0 ? (int) Math.ceil((double) totalElements / size) : 0;
+
+        return new PagedResponse<>(results, page, size, totalElements.intValue(), totalPages);
+    }
+
+    /**
+     * Creates a read-only query from a variant of a query template and binds the given parameters.
+     *
+     * @param jpql the JPQL of the variant
+     * @param resultClass the result type of the query
+     * @param parameters the parameters to bind, keyed by name
+     * @param <R> the result type of the query
+     * @return the query
+     */
+    private <R> TypedQuery<R> createTemplateQuery(String jpql, Class<R> resultClass, Map<String, Object> parameters) {
+        TypedQuery<R> query = applyReadOnlyHints(entityManager.createQuery(jpql, resultClass));
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    /**
+     * Helper method to create a sliced response with the given query conditions.
+     * Unlike {@link #createPagedResponse(int, int, BiFunction)}, no count query is executed:
+     * one extra row is fetched to find out whether there is a next page.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @param predicateFunction a BiFunction that creates a Predicate based on the CriteriaBuilder and Root
+     * @return a sliced response with the query results
+     */
+    protected SlicedResponse<T> createSlicedResponse(int page, int size,
+                                                   BiFunction<CriteriaBuilder, Root<T>, Predicate> predicateFunction) {
+        DaoValidator.validatePagination(page, size);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> cq = cb.createQuery(entityClass);
+        Root<T> root = cq.from(entityClass);
+        cq.select(root);
+        cq.where(predicateFunction.apply(cb, root));
+
+        TypedQuery<T> query = entityManager.createQuery(cq);
+        applyReadOnlyHints(query);
+        applyEntityGraph(query, getDefaultEntityGraph());
+        List<T> results = query
+                .setFirstResult(page * size)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = results.size() > size;
+        List<T> content = hasNext ? results.subList(0, size) : results;
+
+        return new SlicedResponse<>(content, page, size, hasNext);
+    }
+
+    /**
+     * Helper method to create a keyset-paginated response with the given query conditions.
+     * The predicate function is expected to include the seek condition derived from the cursor
+     * of the previous page, so the database starts reading right after the last returned row
+     * instead of skipping an offset. One extra row is fetched to find out whether there is a next page.
+     *
+     * @param size the page size
+     * @param predicateFunction a BiFunction that creates the filter and seek Predicate based on the CriteriaBuilder and Root
+     * @param orderFunction a BiFunction that creates the sort order matching the seek predicate; must be a total order
+     * @param cursorFunction a Function that encodes the sort key of an entity into a continuation token
+     * @return a cursor-paged response with the query results
+     */
+    protected CursorPagedResponse<T> createCursorPagedResponse(int size,
+                                                               BiFunction<CriteriaBuilder, Root<T>, Predicate> predicateFunction,
+                                                               BiFunction<CriteriaBuilder, Root<T>, List<Order>> orderFunction,
+                                                               Function<T, String> cursorFunction) {
+        DaoValidator.validatePageSize(size);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> cq = cb.createQuery(entityClass);
+        Root<T> root = cq.from(entityClass);
+        cq.select(root);
+        cq.where(predicateFunction.apply(cb, root));
+        cq.orderBy(orderFunction.apply(cb, root));
+
+        TypedQuery<T> query = entityManager.createQuery(cq);
+        applyReadOnlyHints(query);
+        applyEntityGraph(query, getDefaultEntityGraph());
+        List<T> results = query
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = results.size() > size;
+        List<T> content = hasNext ? results.subList(0, size) : results;
+        String nextCursor = hasNext ? cursorFunction.apply(content.get(content.size() - 1)) : null;
+
+        return new CursorPagedResponse<>(content, size, nextCursor, hasNext);
+    }
+
     @Override
     public PagedResponse<T> findAll(int page, int size) {
         LOGGER.debug("Finding all entities of type {} with pagination (page={}, size={})", 
@@ -121,6 +636,123 @@ public abstract class AbstractDao<T> implements GenericDao<T> {
         return createPagedResponse(page, size, (cb, root) -> cb.conjunction());
     }
 
+    @Override
+    public SlicedResponse<T> findAllSliced(int page, int size) {
+        LOGGER.debug("Finding a slice of entities of type {} (page={}, size={})",
+                entityClass.getSimpleName(), page, size);
+
+        return createSlicedResponse(page, size, (cb, root) -> cb.conjunction());
+    }
+
+    @Override
+    public long estimateTotalElements() {
+        return rowCountEstimator.estimate(entityClass, this::countAll);
+    }
+
+    private long countAll() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        countQuery.select(cb.count(countQuery.from(entityClass)));
+        return applyReadOnlyHints(entityManager.createQuery(countQuery)).getSingleResult();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Stream<T> stream(BiFunction<CriteriaBuilder, Root<T>, Predicate> criteria, int fetchSize) {
+        LOGGER.debug("Streaming entities of type {} with fetch size {}", entityClass.getSimpleName(), fetchSize);
+        DaoValidator.validatePageSize(fetchSize);
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Streaming requires an active transaction");
+        }
+
+        Session session = entityManager.unwrap(Session.class);
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<T> cq = cb.createQuery(entityClass);
+        Root<T> root = cq.from(entityClass);
+        cq.select(root).where(criteria.apply(cb, root));
+
+        String entityGraph = getDefaultEntityGraph();
+        List<? extends AttributeNode<?>> graphNodes = entityGraph == null
+                ? List.of()
+                : entityManager.getEntityGraph(entityGraph).getAttributeNodes();
+        // Entities the caller already holds stay managed, with their pending changes
+        Set<Object> heldEntities = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<Object, EntityEntry> entry : session.unwrap(SessionImplementor.class)
+                .getPersistenceContextInternal()
+                .reentrantSafeEntityEntries()) {
+            heldEntities.add(entry.getKey());
+        }
+
+        Query<T> query = session.createQuery(cq);
+        applyEntityGraph(query, entityGraph);
+        ScrollableResults<T> results = query
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (!results.next()) {
+                    return false;
+                }
+                T entity = results.get();
+                action.accept(entity);
+                // Detach the row and the associations of its graph once the consumer is done with them
+                detachGraph(session, entity, graphNodes, heldEntities);
+                return true;
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false).onClose(results::close);
+    }
+
+    /**
+     * Evicts a streamed entity and the associations named by the given attribute nodes of an entity graph,
+     * and those of their subgraphs, from the session, unless the caller held them before streaming.
+     *
+     * @param session the session
+     * @param entity the entity, the proxy of an entity or a collection of entities
+     * @param attributeNodes the attribute nodes of the graph
+     * @param heldEntities the entities managed before streaming
+     */
+    private void detachGraph(Session session, Object entity, List<? extends AttributeNode<?>> attributeNodes,
+                             Set<Object> heldEntities) {
+        if (entity instanceof Collection<?> collection) {
+            if (Hibernate.isInitialized(collection)) {
+                collection.forEach(element -> detachGraph(session, element, attributeNodes, heldEntities));
+            }
+            return;
+        }
+        if (!Hibernate.isInitialized(entity)) {
+            if (!heldEntities.contains(entity) && session.contains(entity)) {
+                session.evict(entity);
+            }
+            return;
+        }
+        Object target = Hibernate.unproxy(entity);
+        if (heldEntities.contains(target)) {
+            return;
+        }
+        if (session.contains(target)) {
+            session.evict(target);
+        }
+        EntityPersister persister = getEntityPersister(target.getClass());
+        for (AttributeNode<?> attributeNode : attributeNodes) {
+            Object value = persister.getPropertyValue(target, attributeNode.getAttributeName());
+            if (value == null) {
+                continue;
+            }
+            if (attributeNode.getSubgraphs().isEmpty()) {
+                detachGraph(session, value, List.of(), heldEntities);
+            }
+            for (Subgraph<?> subgraph : attributeNode.getSubgraphs().values()) {
+                detachGraph(session, value, subgraph.getAttributeNodes(), heldEntities);
+            }
+        }
+    }
+
     @Override
     @Transactional
     public void delete(UUID id) {
@@ -145,6 +777,156 @@ public abstract class AbstractDao<T> implements GenericDao<T> {
         LOGGER.debug("Entity updated successfully");
     }
 
+    @Override
+    @Transactional
+    public void updateAll(Collection<T> entities) {
+        LOGGER.debug("Updating {} entities of type {} in batches of {}",
+                entities.size(), entityClass.getSimpleName(), batchSize);
+
+        List<T> chunk = new ArrayList<>(batchSize);
+        for (T entity : entities) {
+            chunk.add(entity);
+            if (chunk.size() == batchSize) {
+                updateChunk(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            updateChunk(chunk);
+        }
+
+        LOGGER.debug("{} entities updated successfully", entities.size());
+    }
+
+    /**
+     * Merges one chunk of updated entities and writes it to the database.
+     * The existing entities of the chunk are loaded with a single query first,
+     * so that the merges are applied to managed instances without a select per entity.
+     *
+     * @param chunk the updated entities
+     * @throws EntityNotFoundException if any of the entities does not exist
+     */
+    private void updateChunk(List<T> chunk) {
+        List<UUID> ids = new ArrayList<>(chunk.size());
+        for (T entity : chunk) {
+            UUID id = getIdentifier(entity);
+            DaoValidator.validateId(id, getEntityType().getName());
+            ids.add(id);
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> cq = cb.createQuery(entityClass);
+        Root<T> root = cq.from(entityClass);
+        cq.select(root).where(root.get("id").in(ids));
+
+        Set<UUID> existingIds = entityManager.createQuery(cq).getResultList().stream()
+                .map(this::getIdentifier)
+                .collect(Collectors.toSet());
+        for (UUID id : ids) {
+            if (!existingIds.contains(id)) {
+                throw new EntityNotFoundException(getEntityType(), id);
+            }
+        }
+
+        chunk.forEach(entityManager::merge);
+        flushAndClear();
+    }
+
+    /**
+     * Writes the pending changes of the current persistence context as JDBC batches
+     * and detaches all managed entities.
+     */
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Makes the query read-only if it runs in a read-only transaction: the loaded entities are not
+     * snapshotted for dirty checking and the persistence context is not flushed before the query.
+     * In a read-write transaction the query is left unchanged, so the caller can still modify the entities.
+     *
+     * @param query the query
+     * @param <R> the result type of the query
+     * @return the query
+     */
+    protected <R> TypedQuery<R> applyReadOnlyHints(TypedQuery<R> query) {
+        readOnlyHints().forEach(query::setHint);
+        return query;
+    }
+
+    /**
+     * Gets the hints that make a lookup read-only if it runs in a read-only transaction.
+     *
+     * @return the hints, empty in a read-write transaction or outside of a transaction
+     */
+    protected Map<String, Object> readOnlyHints() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Map.of();
+        }
+        return Map.of(HibernateHints.HINT_READ_ONLY, true, HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+    }
+
+    /**
+     * Makes the query load the associations of the given entity graph together with the entities.
+     * Associations outside the graph are fetched according to their mapping, lazily by default.
+     *
+     * @param query the query
+     * @param entityGraph the name of the entity graph, or null to leave the query unchanged
+     */
+    protected void applyEntityGraph(TypedQuery<?> query, String entityGraph) {
+        if (entityGraph != null) {
+            query.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(entityGraph));
+        }
+    }
+
+    /**
+     * Gets the name of the entity graph fetched by the finders of this DAO unless a call selects another one.
+     * DAOs of entities with lazy associations that callers rely on override this,
+     * so that the entities they return can be used after the persistence context is closed.
+     *
+     * @return the name of the entity graph, or null to use the mapped fetch types
+     */
+    protected String getDefaultEntityGraph() {
+        return null;
+    }
+
+    /**
+     * Gets the tables written by {@link #upsertAll(Collection)}, the tables of superclasses first,
+     * each with the columns of the entity and the functions that read their values.
+     * DAOs of entities that can be written with their IDs override this.
+     *
+     * @return the tables, or an empty list if the entities cannot be upserted
+     */
+    protected List<UpsertTable<T>> getUpsertTables() {
+        return List.of();
+    }
+
+    /**
+     * Gets the identifier of the given entity.
+     *
+     * @param entity the entity
+     * @return the identifier, or null if the entity has not been assigned one yet
+     */
+    protected UUID getIdentifier(T entity) {
+        return (UUID) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+    }
+
+    /**
+     * Selects the execution strategy of the paged finders of this DAO.
+     * {@code dao.paging.window-count.<entity name>} overrides {@code dao.paging.window-count} for one DAO,
+     * so the single-statement strategy can be compared with the count query per DAO.
+     *
+     * @param environment the environment holding the paging properties
+     */
+    @Autowired
+    void configurePaging(Environment environment) {
+        boolean defaultValue = environment.getProperty(WINDOW_COUNT_PROPERTY, Boolean.class, false);
+        windowCountEnabled = environment.getProperty(WINDOW_COUNT_PROPERTY + "." + getEntityType().getName(),
+                Boolean.class, defaultValue);
+        LOGGER.debug("Window count paging for {} entities: {}", getEntityType().getName(), windowCountEnabled);
+    }
+
     /**
      * Gets the entity type for this DAO.
      *
@@ -1,7 +1,11 @@
 package com.epam.learn.dao;
 
+import com.epam.learn.dao.bulk.UpsertColumn;
+import com.epam.learn.dao.bulk.UpsertTable;
+import com.epam.learn.model.CursorPagedResponse;
 import com.epam.learn.model.PagedResponse;
 import com.epam.learn.model.user.User;
+import com.epam.learn.util.cursor.CursorCodec;
 import com.epam.learn.util.validate.DaoValidator;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
@@ -9,8 +13,16 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Abstract implementation of UserDao using JPA.
@@ -21,6 +33,11 @@ import java.util.Optional;
 @Slf4j
 public abstract class AbstractUserDao<T extends User> extends AbstractDao<T> implements UserDao<T> {
 
+    /**
+     * Maximum number of values bound to one IN list; larger collections are updated in several statements.
+     */
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
     protected AbstractUserDao(EntityManager entityManager, Class<T> entityClass) {
         super(entityManager, entityClass);
     }
@@ -37,7 +54,9 @@ public abstract class AbstractUserDao<T extends User> extends AbstractDao<T> imp
         cq.select(root)
           .where(cb.equal(root.get("username"), username));
 
-        TypedQuery<T> query = entityManager.createQuery(cq);
+        TypedQuery<T> query = applyReadOnlyHints(entityManager.createQuery(cq))
+                .setHint(HibernateHints.HINT_CACHEABLE, true);
+        applyEntityGraph(query, getDefaultEntityGraph());
 
         try {
             return Optional.of(query.getSingleResult());
@@ -47,6 +66,23 @@ public abstract class AbstractUserDao<T extends User> extends AbstractDao<T> imp
         }
     }
 
+    @Override
+    public List<String> findUsernamesStartingWith(String prefix) {
+        LOGGER.debug("Finding usernames starting with: {}", prefix);
+        DaoValidator.validateUsername(prefix);
+
+        return applyReadOnlyHints(entityManager.createQuery(
+                        "select u.username from User u where u.username like :pattern escape '\\'", String.class))
+                .setParameter("pattern", escapeLike(prefix) + "%")
+                .getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
     @Override
     public PagedResponse<T> findByFirstNameAndLastName(String firstName, String lastName, int page, int size) {
         LOGGER.debug("Finding users by firstName: {} and lastName: {}", firstName, lastName);
@@ -62,4 +98,149 @@ public abstract class AbstractUserDao<T extends User> extends AbstractDao<T> imp
         );
     }
 
+    @Override
+    public CursorPagedResponse<T> findAll(String cursor, int size) {
+        LOGGER.debug("Finding users by cursor with page size {}", size);
+        String lastUsername = CursorCodec.decodeUsernameCursor(cursor);
+
+        // The seek and the order are answered by the unique index on users.username
+        return createCursorPagedResponse(size,
+                (cb, root) -> lastUsername == null
+                        ? cb.conjunction()
+                        : cb.greaterThan(root.get("username"), lastUsername),
+                (cb, root) -> List.of(cb.asc(root.get("username"))),
+                user -> CursorCodec.encodeUsernameCursor(user.getUsername()));
+    }
+
+    @Override
+    @Transactional
+    public int updateActive(Collection<UUID> ids, boolean active) {
+        LOGGER.debug("Setting active={} for {} users by id", active, ids.size());
+        ids.forEach(id -> DaoValidator.validateId(id, getEntityType().getName()));
+
+        return updateActiveIn("id", List.copyOf(ids), active);
+    }
+
+    @Override
+    @Transactional
+    public int updateActiveByUsernames(Collection<String> usernames, boolean active) {
+        LOGGER.debug("Setting active={} for {} users by username", active, usernames.size());
+        usernames.forEach(DaoValidator::validateUsername);
+
+        return updateActiveIn("username", List.copyOf(usernames), active);
+    }
+
+    @Override
+    @Transactional
+    public int deactivateWithoutTrainingsSince(LocalDate since) {
+        LOGGER.debug("Deactivating users without trainings since {}", since);
+        if (since == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+
+        StringBuilder sql = new StringBuilder("update users set is_active = false where is_active = true")
+                .append(subtypeCondition());
+        // Answered by the (trainee_id, training_date, id) and (trainer_id, training_date, id) indexes of trainings
+        for (String column : getTrainingParticipantColumns()) {
+            sql.append(" and not exists (select 1 from trainings t where t.").append(column)
+                    .append(" = users.id and t.training_date >= :since)");
+        }
+
+        int updated = createUserUpdate(sql.toString())
+                .setParameter("since", since.atStartOfDay())
+                .executeUpdate();
+        LOGGER.debug("{} users deactivated", updated);
+        return updated;
+    }
+
+    /**
+     * Sets the active flag of the users whose attribute value is in the given list,
+     * with one UPDATE statement per {@value #IN_CLAUSE_LIMIT} values.
+     *
+     * @param attribute the attribute of the user to match, which is also the column of the users table
+     * @param values the values to match
+     * @param active the new active status
+     * @return the number of users updated
+     */
+    private int updateActiveIn(String attribute, List<?> values, boolean active) {
+        String sql = "update users set is_active = :active where " + attribute + " in (:values)" + subtypeCondition();
+
+        int updated = 0;
+        for (int from = 0; from < values.size(); from += IN_CLAUSE_LIMIT) {
+            updated += createUserUpdate(sql)
+                    .setParameter("active", active)
+                    .setParameterList("values", values.subList(from, Math.min(from + IN_CLAUSE_LIMIT, values.size())))
+                    .executeUpdate();
+        }
+        LOGGER.debug("{} users updated", updated);
+        return updated;
+    }
+
+    /**
+     * Creates a native statement that updates the {@code users} table.
+     * The statement bypasses the persistence context, so managed instances of the updated users keep their
+     * old state. Declaring the users table as the affected space limits the second-level cache invalidation
+     * to the users region and the cached query results that read it, instead of every region.
+     *
+     * @param sql the UPDATE statement
+     * @return the native query
+     */
+    private NativeQuery<?> createUserUpdate(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(User.class);
+    }
+
+    /**
+     * Writes the {@code users} row and the row of the subtype table of every user, so only DAOs
+     * of a user subtype support {@link #upsertAll(Collection)}.
+     */
+    @Override
+    protected List<UpsertTable<T>> getUpsertTables() {
+        String subtypeTable = getSubtypeTable();
+        if (subtypeTable == null) {
+            return List.of();
+        }
+
+        List<UpsertColumn<T>> subtypeColumns = new ArrayList<>();
+        subtypeColumns.add(new UpsertColumn<>("id", User::getId));
+        subtypeColumns.addAll(getSubtypeUpsertColumns());
+        return List.of(
+                new UpsertTable<>("users", List.of(
+                        new UpsertColumn<>("id", User::getId),
+                        new UpsertColumn<>("first_name", User::getFirstName),
+                        new UpsertColumn<>("last_name", User::getLastName),
+                        new UpsertColumn<>("username", User::getUsername),
+                        new UpsertColumn<>("password", User::getPassword),
+                        new UpsertColumn<>("is_active", User::isActive))),
+                new UpsertTable<>(subtypeTable, subtypeColumns));
+    }
+
+    /**
+     * Gets the columns of the subtype table written by {@link #upsertAll(Collection)}, besides the ID.
+     *
+     * @return the columns
+     */
+    protected List<UpsertColumn<T>> getSubtypeUpsertColumns() {
+        return List.of();
+    }
+
+    private String subtypeCondition() {
+        String subtypeTable = getSubtypeTable();
+        return subtypeTable == null ? "" : " and exists (select 1 from " + subtypeTable + " s where s.id = users.id)";
+    }
+
+    /**
+     * Gets the table of the user subtype managed by this DAO, which restricts the bulk updates to that subtype.
+     *
+     * @return the table name, or null if the DAO manages users of every type
+     */
+    protected abstract String getSubtypeTable();
+
+    /**
+     * Gets the columns of the {@code trainings} table that reference the users managed by this DAO.
+     *
+     * @return the column names
+     */
+    protected abstract List<String> getTrainingParticipantColumns();
 }
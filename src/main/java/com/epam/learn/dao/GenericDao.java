@@ -1,9 +1,16 @@
 package com.epam.learn.dao;
 
 import com.epam.learn.model.PagedResponse;
+import com.epam.learn.model.SlicedResponse;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
 public interface GenericDao<T> {
 
@@ -15,6 +22,31 @@ public interface GenericDao<T> {
      */
     void save(T entity);
 
+    /**
+     * Persists all provided entities in a single transaction using JDBC batching.
+     * The persistence context is flushed and cleared every {@code hibernate.jdbc.batch_size} entities,
+     * so the memory used stays bounded regardless of the size of the collection.
+     *
+     * @param entities the entities to be saved; must not be null
+     */
+    void saveAll(Collection<T> entities);
+
+    /**
+     * Inserts the provided entities, or updates them if a row with the same ID already exists,
+     * with multi-row statements of up to {@code dao.upsert.rows-per-statement} rows:
+     * {@code insert ... on conflict (id) do update} on PostgreSQL and {@code merge into ... key (id)} on H2.
+     * Unlike {@link #saveAll(Collection)}, no entity is loaded first, so writing rows that already exist costs
+     * as much as writing new ones. The IDs of the entities are kept, associations are written from the IDs of
+     * the referenced entities, which must already exist, and collections are not written.
+     * Pending changes of the persistence context are flushed first; managed copies of the written entities
+     * are not refreshed.
+     *
+     * @param entities the entities to be written, each with an assigned ID; must not be null
+     * @return the number of distinct entities written
+     * @throws UnsupportedOperationException if the entities or the database do not support bulk upserts
+     */
+    int upsertAll(Collection<T> entities);
+
     /**
      * Retrieves an entity by its unique identifier.
      *
@@ -32,6 +64,42 @@ public interface GenericDao<T> {
      */
     PagedResponse<T> findAll(int page, int size);
 
+    /**
+     * Retrieves all entities in a paginated manner without counting them.
+     *
+     * @param page the zero-based page index.
+     * @param size the number of elements to include in each page.
+     * @return a {@code SlicedResponse<T>} containing the content of the requested page and whether a next page exists.
+     */
+    SlicedResponse<T> findAllSliced(int page, int size);
+
+    /**
+     * Returns the approximate total number of entities.
+     * The value may come from database statistics and is cached for a short time,
+     * so it is suitable for display purposes only.
+     *
+     * @return the approximate number of entities
+     */
+    long estimateTotalElements();
+
+    /**
+     * Streams all entities matching the given criteria through a forward-only database cursor.
+     * Rows are fetched from the database {@code fetchSize} at a time, and each entity is evicted from the
+     * persistence context, together with the associations of the default entity graph, once the stream has
+     * handed it out, so walking a whole table runs in constant memory. Entities handed out earlier are
+     * therefore detached. Entities the current transaction already held before streaming are left managed,
+     * with their pending changes; the rest of the persistence context is not touched.
+     * <p>
+     * The stream holds a database cursor and must be closed, preferably with try-with-resources,
+     * within the transaction it was opened in.
+     *
+     * @param criteria  a function that creates the filter Predicate based on the CriteriaBuilder and Root
+     * @param fetchSize the number of rows fetched per round trip; must be positive
+     * @return a stream of the matching entities
+     * @throws IllegalStateException if no transaction is active
+     */
+    Stream<T> stream(BiFunction<CriteriaBuilder, Root<T>, Predicate> criteria, int fetchSize);
+
     /**
      * Deletes an entity identified by the provided UUID.
      *
@@ -46,4 +114,14 @@ public interface GenericDao<T> {
      * @param entity the updated entity to replace the existing entity
      */
     void update(UUID id, T entity);
+
+    /**
+     * Updates all provided entities in a single transaction using JDBC batching.
+     * Existing rows are loaded once per chunk of {@code hibernate.jdbc.batch_size} entities,
+     * after which the persistence context is flushed and cleared.
+     *
+     * @param entities the updated entities; each must have an identifier of an existing entity
+     * @throws com.epam.learn.exception.EntityNotFoundException if any of the entities does not exist
+     */
+    void updateAll(Collection<T> entities);
 }
@@ -0,0 +1,104 @@
+package com.epam.learn.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Table;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Provides approximate row counts of entity tables for callers that can tolerate an inexact total.
+ * On PostgreSQL the planner statistics ({@code pg_class.reltuples}) are read, which costs a catalog
+ * lookup instead of a full scan; on other databases, or for tables that have never been analyzed,
+ * the exact count is used. Either way the result is cached for {@code dao.count.estimate.ttl} milliseconds.
+ */
+@Slf4j
+@Component
+public class RowCountEstimator {
+
+    private static final String RELTUPLES_QUERY =
+            "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass(?1)";
+
+    private final EntityManager entityManager;
+    private final long ttlMillis;
+    private final Map<Class<?>, CachedCount> cache = new ConcurrentHashMap<>();
+    private volatile Boolean postgres;
+
+    public RowCountEstimator(EntityManager entityManager,
+                             @Value("${dao.count.estimate.ttl:60000}") long ttlMillis) {
+        this.entityManager = entityManager;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Returns the approximate number of rows of the table of the given entity.
+     *
+     * @param entityClass the entity class; its table is taken from the {@link Table} annotation
+     * @param exactCount  the exact count, used when no estimate is available
+     * @return the approximate number of rows
+     */
+    public long estimate(Class<?> entityClass, LongSupplier exactCount) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = cache.get(entityClass);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.value();
+        }
+
+        long value = readStatistics(entityClass);
+        if (value < 0) {
+            value = exactCount.getAsLong();
+        }
+        LOGGER.debug("Estimated row count of {}: {}", entityClass.getSimpleName(), value);
+
+        cache.put(entityClass, new CachedCount(value, now + ttlMillis));
+        return value;
+    }
+
+    /**
+     * Discards the cached count of the given entity, e.g. after a bulk insert or delete.
+     *
+     * @param entityClass the entity class
+     */
+    public void evict(Class<?> entityClass) {
+        cache.remove(entityClass);
+    }
+
+    /**
+     * Reads the row count from the planner statistics.
+     *
+     * @param entityClass the entity class
+     * @return the row count, or -1 if the statistics are not available
+     */
+    private long readStatistics(Class<?> entityClass) {
+        Table table = entityClass.getAnnotation(Table.class);
+        if (table == null || !isPostgres()) {
+            return -1;
+        }
+        List<?> rows = entityManager.createNativeQuery(RELTUPLES_QUERY)
+                .setParameter(1, table.name())
+                .getResultList();
+        Object result = rows.isEmpty() ? null : rows.get(0);
+        // reltuples is -1 for tables that have never been vacuumed or analyzed
+        return result instanceof Number number ? number.longValue() : -1;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect() instanceof PostgreSQLDialect;
+        }
+        return postgres;
+    }
+
+    private record CachedCount(long value, long expiresAt) {
+    }
+}
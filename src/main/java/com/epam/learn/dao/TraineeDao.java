@@ -52,4 +52,16 @@ public interface TraineeDao extends UserDao<Trainee> {
      * @throws IllegalArgumentException if traineeId is null
      */
     void updateTrainers(UUID traineeId, Set<Trainer> trainers);
+
+    /**
+     * Retrieves a paginated list of the trainees assigned to a trainer, ordered by username.
+     * Filtering, ordering and paging are done by the database on the {@code trainee_trainer} assignments.
+     *
+     * @param trainerId the ID of the trainer; must not be null
+     * @param page      the zero-based index of the page to retrieve; must be non-negative
+     * @param size      the number of records to include in each page; must be a positive integer
+     * @return a {@code PagedResponse<Trainee>} containing the trainees of the page along with pagination metadata
+     * @throws IllegalArgumentException if trainerId is null, or if page is negative, or if size is not positive
+     */
+    PagedResponse<Trainee> findByTrainerId(UUID trainerId, int page, int size);
 }
@@ -65,4 +65,18 @@ public interface TrainerDao extends UserDao<Trainer> {
      * @throws IllegalArgumentException if traineeId is null, or if page is negative, or if size is not positive
      */
     PagedResponse<Trainer> findNotAssignedToTrainee(UUID traineeId, int page, int size);
+
+    /**
+     * Retrieves a paginated list of trainers that are not assigned to the specified trainee,
+     * optionally restricted to active trainers. The trainers are ordered by username.
+     *
+     * @param traineeId  the ID of the trainee; must not be null
+     * @param activeOnly whether to retrieve only active trainers
+     * @param page       the zero-based index of the page to retrieve; must be non-negative
+     * @param size       the number of trainers to retrieve per page; must be a positive integer
+     * @return a {@code PagedResponse<Trainer>} containing the list of trainers not assigned to the trainee,
+     * along with pagination metadata
+     * @throws IllegalArgumentException if traineeId is null, or if page is negative, or if size is not positive
+     */
+    PagedResponse<Trainer> findNotAssignedToTrainee(UUID traineeId, boolean activeOnly, int page, int size);
 }
@@ -1,7 +1,10 @@
 package com.epam.learn.dao;
 
+import com.epam.learn.model.CursorPagedResponse;
 import com.epam.learn.model.PagedResponse;
+import com.epam.learn.model.SlicedResponse;
 import com.epam.learn.model.training.Training;
+import com.epam.learn.model.training.TrainingView;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -89,4 +92,144 @@ public interface TrainingDao extends GenericDao<Training> {
      */
     PagedResponse<Training> findByTrainerCriteria(UUID trainerId, LocalDate fromDate, LocalDate toDate,
                                                  String traineeName, int page, int size);
+
+    /**
+     * Retrieves a paginated list of trainings for a trainee based on multiple criteria,
+     * loading only the associations of the given fetch plan.
+     *
+     * @param traineeId    the ID of the trainee whose trainings to retrieve; must not be null
+     * @param fromDate     the start date for filtering trainings; can be null
+     * @param toDate       the end date for filtering trainings; can be null
+     * @param trainerName  the name of the trainer for filtering trainings; can be null or empty
+     * @param trainingType the type of training for filtering trainings; can be null or empty
+     * @param page         the zero-based index of the page to retrieve; must be non-negative
+     * @param size         the number of records to include in each page; must be a positive integer
+     * @param fetchPlan    the associations to load with the trainings; must not be null
+     * @return a {@code PagedResponse<Training>} containing the trainings that match the criteria
+     * along with pagination metadata
+     * @throws IllegalArgumentException if traineeId is null, or if page is negative, or if size is not positive
+     */
+    PagedResponse<Training> findByTraineeCriteria(UUID traineeId, LocalDate fromDate, LocalDate toDate,
+                                                 String trainerName, String trainingType, int page, int size,
+                                                 TrainingFetchPlan fetchPlan);
+
+    /**
+     * Retrieves a paginated list of trainings for a trainer based on multiple criteria,
+     * loading only the associations of the given fetch plan.
+     *
+     * @param trainerId   the ID of the trainer whose trainings to retrieve; must not be null
+     * @param fromDate    the start date for filtering trainings; can be null
+     * @param toDate      the end date for filtering trainings; can be null
+     * @param traineeName the name of the trainee for filtering trainings; can be null or empty
+     * @param page        the zero-based index of the page to retrieve; must be non-negative
+     * @param size        the number of records to include in each page; must be a positive integer
+     * @param fetchPlan   the associations to load with the trainings; must not be null
+     * @return a {@code PagedResponse<Training>} containing the trainings that match the criteria
+     * along with pagination metadata
+     * @throws IllegalArgumentException if trainerId is null, or if page is negative, or if size is not positive
+     */
+    PagedResponse<Training> findByTrainerCriteria(UUID trainerId, LocalDate fromDate, LocalDate toDate,
+                                                 String traineeName, int page, int size,
+                                                 TrainingFetchPlan fetchPlan);
+
+    /**
+     * Retrieves trainings for a trainee based on multiple criteria using keyset pagination.
+     * Trainings are ordered by training date and ID, and each page resumes right after the
+     * {@code (trainingDate, id)} pair encoded in the cursor, so deep pages cost the same as the first one.
+     *
+     * @param traineeId    the ID of the trainee whose trainings to retrieve; must not be null
+     * @param fromDate     the start date for filtering trainings; can be null
+     * @param toDate       the end date for filtering trainings; can be null
+     * @param trainerName  the name of the trainer for filtering trainings; can be null or empty
+     * @param trainingType the type of training for filtering trainings; can be null or empty
+     * @param cursor       the continuation token returned with the previous page; null for the first page
+     * @param size         the number of records to include in the page; must be a positive integer
+     * @return a {@code CursorPagedResponse<Training>} containing the trainings of the page and the cursor of the next page
+     * @throws IllegalArgumentException if traineeId is null, if the cursor is invalid, or if size is not positive
+     */
+    CursorPagedResponse<Training> findByTraineeCriteria(UUID traineeId, LocalDate fromDate, LocalDate toDate,
+                                                       String trainerName, String trainingType, String cursor, int size);
+
+    /**
+     * Retrieves trainings for a trainer based on multiple criteria using keyset pagination.
+     * Trainings are ordered by training date and ID, and each page resumes right after the
+     * {@code (trainingDate, id)} pair encoded in the cursor, so deep pages cost the same as the first one.
+     *
+     * @param trainerId   the ID of the trainer whose trainings to retrieve; must not be null
+     * @param fromDate    the start date for filtering trainings; can be null
+     * @param toDate      the end date for filtering trainings; can be null
+     * @param traineeName the name of the trainee for filtering trainings; can be null or empty
+     * @param cursor      the continuation token returned with the previous page; null for the first page
+     * @param size        the number of records to include in the page; must be a positive integer
+     * @return a {@code CursorPagedResponse<Training>} containing the trainings of the page and the cursor of the next page
+     * @throws IllegalArgumentException if trainerId is null, if the cursor is invalid, or if size is not positive
+     */
+    CursorPagedResponse<Training> findByTrainerCriteria(UUID trainerId, LocalDate fromDate, LocalDate toDate,
+                                                       String traineeName, String cursor, int size);
+
+    /**
+     * Retrieves a slice of trainings for a trainee based on multiple criteria without counting the matches.
+     *
+     * @param traineeId    the ID of the trainee whose trainings to retrieve; must not be null
+     * @param fromDate     the start date for filtering trainings; can be null
+     * @param toDate       the end date for filtering trainings; can be null
+     * @param trainerName  the name of the trainer for filtering trainings; can be null or empty
+     * @param trainingType the type of training for filtering trainings; can be null or empty
+     * @param page         the zero-based index of the page to retrieve; must be non-negative
+     * @param size         the number of records to include in each page; must be a positive integer
+     * @return a {@code SlicedResponse<Training>} containing the trainings of the page and whether a next page exists
+     * @throws IllegalArgumentException if traineeId is null, or if page is negative, or if size is not positive
+     */
+    SlicedResponse<Training> findSliceByTraineeCriteria(UUID traineeId, LocalDate fromDate, LocalDate toDate,
+                                                       String trainerName, String trainingType, int page, int size);
+
+    /**
+     * Retrieves a slice of trainings for a trainer based on multiple criteria without counting the matches.
+     *
+     * @param trainerId   the ID of the trainer whose trainings to retrieve; must not be null
+     * @param fromDate    the start date for filtering trainings; can be null
+     * @param toDate      the end date for filtering trainings; can be null
+     * @param traineeName the name of the trainee for filtering trainings; can be null or empty
+     * @param page        the zero-based index of the page to retrieve; must be non-negative
+     * @param size        the number of records to include in each page; must be a positive integer
+     * @return a {@code SlicedResponse<Training>} containing the trainings of the page and whether a next page exists
+     * @throws IllegalArgumentException if trainerId is null, or if page is negative, or if size is not positive
+     */
+    SlicedResponse<Training> findSliceByTrainerCriteria(UUID trainerId, LocalDate fromDate, LocalDate toDate,
+                                                       String traineeName, int page, int size);
+
+    /**
+     * Retrieves a paginated list of training views for a trainee based on multiple criteria.
+     * The views are selected directly, with the trainer as the counterpart, without loading any entities.
+     *
+     * @param traineeId    the ID of the trainee whose trainings to retrieve; must not be null
+     * @param fromDate     the start date for filtering trainings; can be null
+     * @param toDate       the end date for filtering trainings; can be null
+     * @param trainerName  the name of the trainer for filtering trainings; can be null or empty
+     * @param trainingType the type of training for filtering trainings; can be null or empty
+     * @param page         the zero-based index of the page to retrieve; must be non-negative
+     * @param size         the number of records to include in each page; must be a positive integer
+     * @return a {@code PagedResponse<TrainingView>} containing the views of the trainings that match the criteria
+     * along with pagination metadata
+     * @throws IllegalArgumentException if traineeId is null, or if page is negative, or if size is not positive
+     */
+    PagedResponse<TrainingView> findViewsByTraineeCriteria(UUID traineeId, LocalDate fromDate, LocalDate toDate,
+                                                          String trainerName, String trainingType, int page, int size);
+
+    /**
+     * Retrieves a paginated list of training views for a trainer based on multiple criteria.
+     * The views are selected directly, with the trainee as the counterpart, without loading any entities.
+     *
+     * @param trainerId   the ID of the trainer whose trainings to retrieve; must not be null
+     * @param fromDate    the start date for filtering trainings; can be null
+     * @param toDate      the end date for filtering trainings; can be null
+     * @param traineeName the name of the trainee for filtering trainings; can be null or empty
+     * @param page        the zero-based index of the page to retrieve; must be non-negative
+     * @param size        the number of records to include in each page; must be a positive integer
+     * @return a {@code PagedResponse<TrainingView>} containing the views of the trainings that match the criteria
+     * along with pagination metadata
+     * @throws IllegalArgumentException if trainerId is null, or if page is negative, or if size is not positive
+     */
+    PagedResponse<TrainingView> findViewsByTrainerCriteria(UUID trainerId, LocalDate fromDate, LocalDate toDate,
+                                                          String traineeName, int page, int size);
 }
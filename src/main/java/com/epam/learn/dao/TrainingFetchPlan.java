@@ -0,0 +1,27 @@
+package com.epam.learn.dao;
+
+import com.epam.learn.model.training.Training;
+
+/**
+ * Fetch plans for training queries. Each plan names the associations of {@link Training}
+ * that are loaded together with the trainings in the same query; associations outside
+ * the plan are left as uninitialized proxies.
+ */
+public enum TrainingFetchPlan {
+    /**
+     * Trainee, trainer with its specialization, and training type.
+     */
+    ALL,
+    /**
+     * Trainer and training type; for the training history of a trainee.
+     */
+    TRAINER_AND_TYPE,
+    /**
+     * Trainee and training type; for the training history of a trainer.
+     */
+    TRAINEE_AND_TYPE,
+    /**
+     * No associations.
+     */
+    NONE
+}
@@ -1,9 +1,14 @@
 package com.epam.learn.dao;
 
+import com.epam.learn.model.CursorPagedResponse;
 import com.epam.learn.model.PagedResponse;
 import com.epam.learn.model.user.User;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface UserDao<T extends User> extends GenericDao<T> {
 
@@ -15,6 +20,16 @@ public interface UserDao<T extends User> extends GenericDao<T> {
      */
     Optional<T> findByUsername(String username);
 
+    /**
+     * Retrieves the usernames of all users, of any type, that start with the given prefix.
+     * Usernames are unique across the whole user hierarchy, so the query runs against the
+     * {@code users} table only and is answered from the index on {@code users.username}.
+     *
+     * @param prefix the username prefix to search for; must not be null or empty
+     * @return the matching usernames, including the prefix itself if it is taken
+     */
+    List<String> findUsernamesStartingWith(String prefix);
+
     /**
      * Retrieves a paginated list of users whose first name and last name match the provided values.
      *
@@ -27,4 +42,51 @@ public interface UserDao<T extends User> extends GenericDao<T> {
      * @throws IllegalArgumentException if the page is negative or the size is not a positive integer
      */
     PagedResponse<T> findByFirstNameAndLastName(String firstName, String lastName, int page, int size);
+
+    /**
+     * Retrieves users ordered by username using keyset pagination.
+     * Each page resumes right after the username encoded in the cursor, so the cost of a page
+     * does not grow with its position in the result set.
+     *
+     * @param cursor the continuation token returned with the previous page; null for the first page
+     * @param size   the number of items to include in the page; must be a positive integer
+     * @return a {@code CursorPagedResponse<T>} containing the users of the page and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is invalid or the size is not a positive integer
+     */
+    CursorPagedResponse<T> findAll(String cursor, int size);
+
+    /**
+     * Sets the active status of the users with the given IDs in a single set-based update,
+     * without loading the users. The users region and the cached queries over users are evicted
+     * from the second-level cache.
+     *
+     * @param ids    the IDs of the users to update; must not contain null
+     * @param active the new active status
+     * @return the number of users found and updated
+     * @throws IllegalArgumentException if any of the IDs is null
+     */
+    int updateActive(Collection<UUID> ids, boolean active);
+
+    /**
+     * Sets the active status of the users with the given usernames in a single set-based update,
+     * without loading the users. The users region and the cached queries over users are evicted
+     * from the second-level cache.
+     *
+     * @param usernames the usernames of the users to update; must not contain null or empty values
+     * @param active    the new active status
+     * @return the number of users found and updated
+     * @throws IllegalArgumentException if any of the usernames is null or empty
+     */
+    int updateActiveByUsernames(Collection<String> usernames, boolean active);
+
+    /**
+     * Deactivates, in a single set-based update, the active users that have no trainings
+     * on or after the given date. The deactivated users are not known up front, so the whole users region
+     * of the second-level cache and the cached queries over users are evicted.
+     *
+     * @param since the date from which trainings are considered; must not be null
+     * @return the number of users deactivated
+     * @throws IllegalArgumentException if the date is null
+     */
+    int deactivateWithoutTrainingsSince(LocalDate since);
 }
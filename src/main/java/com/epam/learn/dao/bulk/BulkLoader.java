@@ -0,0 +1,281 @@
+package com.epam.learn.dao.bulk;
+
+import com.epam.learn.dao.GenericDao;
+import com.epam.learn.dao.TraineeDao;
+import com.epam.learn.dao.TrainerDao;
+import com.epam.learn.dao.TrainingDao;
+import com.epam.learn.dao.TrainingTypeDao;
+import com.epam.learn.model.training.Training;
+import com.epam.learn.model.training.TrainingType;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.model.user.Trainer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+/**
+ * Loads large numbers of entities with their assigned IDs through the bulk upserts of their DAOs
+ * ({@link GenericDao#upsertAll(Collection)}). Nothing is loaded into a persistence context, so memory use does not
+ * grow with the number of rows and rows that already exist cost as much as new ones; every
+ * {@code storage.import.chunk-size} rows are committed in a transaction of their own.
+ * The progress of every load is recorded and can be read while the load is running.
+ */
+@Slf4j
+@Component
+public class BulkLoader {
+
+    private static final String INSERT_TRAINER_ASSIGNMENT =
+            "insert into trainee_trainer (trainee_id, trainer_id) select ?, ? where not exists "
+                    + "(select 1 from trainee_trainer where trainee_id = ? and trainer_id = ?)";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Class<?>, GenericDao<?>> daos;
+    private final int chunkSize;
+    private final Map<String, Progress> progress = new ConcurrentHashMap<>();
+    private final Map<String, Long> starts = new ConcurrentHashMap<>();
+
+    public BulkLoader(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                      TrainingTypeDao trainingTypeDao, TraineeDao traineeDao, TrainerDao trainerDao,
+                      TrainingDao trainingDao, @Value("${storage.import.chunk-size:500}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.daos = Map.of(
+                TrainingType.class, trainingTypeDao,
+                Trainee.class, traineeDao,
+                Trainer.class, trainerDao,
+                Training.class, trainingDao);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Inserts the given entities, or updates them if a row with the same ID already exists.
+     * The IDs of the entities are kept as they are; associations are written from the IDs of the
+     * referenced entities, which must already exist. Collections are not written.
+     * Training types, trainees, trainers and trainings can be loaded.
+     * Chunks committed before a failure stay committed.
+     *
+     * @param name     the name under which the progress of the load is recorded
+     * @param entities the entities to load, each with an assigned ID
+     * @return the final progress of the load
+     */
+    public Progress load(String name, Iterator<?> entities) {
+        LOGGER.info("load:: loading {} in chunks of {}", name, chunkSize);
+        try (Writer writer = openWriters(name, 1).get(0)) {
+            while (entities.hasNext()) {
+                writer.upsert(nextChunk(entities));
+            }
+        }
+        Progress current = progress.get(name);
+        LOGGER.info("load:: loaded {} {} in {} chunks, {} ms", current.rows(), name, current.chunks(), current.elapsedMillis());
+        return current;
+    }
+
+    /**
+     * Assigns trainers to trainees, skipping assignments that already exist.
+     * The assignments are written as JDBC batches and committed in chunks like {@link #load(String, Iterator)}.
+     *
+     * @param name        the name under which the progress of the load is recorded
+     * @param assignments the assignments to load; the trainees and trainers must already exist
+     * @return the final progress of the load
+     */
+    public Progress loadTrainerAssignments(String name, Iterator<TrainerAssignment> assignments) {
+        LOGGER.info("loadTrainerAssignments:: loading {} in chunks of {}", name, chunkSize);
+        try (Writer writer = openWriters(name, 1).get(0)) {
+            while (assignments.hasNext()) {
+                writer.insertTrainerAssignments(nextChunk(assignments));
+            }
+        }
+        Progress current = progress.get(name);
+        LOGGER.info("loadTrainerAssignments:: loaded {} {} in {} chunks, {} ms",
+                current.rows(), name, current.chunks(), current.elapsedMillis());
+        return current;
+    }
+
+    /**
+     * Opens writers for callers that build the chunks themselves,
+     * e.g. to write the chunks of one load from several threads. The progress of the load
+     * is recorded from the chunks of all its writers.
+     *
+     * @param name  the name under which the progress of the load is recorded
+     * @param count the number of writers
+     * @return the writers, which must be closed when the load is done
+     */
+    public List<Writer> openWriters(String name, int count) {
+        starts.put(name, System.nanoTime());
+        progress.put(name, new Progress(0, 0, 0));
+        List<Writer> writers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            writers.add(new Writer(name));
+        }
+        return writers;
+    }
+
+    /**
+     * Returns the number of rows committed per transaction.
+     *
+     * @return the chunk size
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    private <T> List<T> nextChunk(Iterator<T> source) {
+        List<T> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize && source.hasNext()) {
+            chunk.add(source.next());
+        }
+        return chunk;
+    }
+
+    /**
+     * Inserts a chunk of assignments as one JDBC batch.
+     *
+     * @param connection  the connection of the current transaction
+     * @param assignments the assignments of the chunk
+     * @return the number of assignments written
+     * @throws SQLException if the batch fails
+     */
+    private static int insertTrainerAssignments(Connection connection, List<TrainerAssignment> assignments)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_TRAINER_ASSIGNMENT)) {
+            for (TrainerAssignment assignment : assignments) {
+                statement.setObject(1, assignment.traineeId());
+                statement.setObject(2, assignment.trainerId());
+                statement.setObject(3, assignment.traineeId());
+                statement.setObject(4, assignment.trainerId());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            return assignments.size();
+        }
+    }
+
+    /**
+     * Returns the progress of the loads started so far.
+     *
+     * @return the progress keyed by load name
+     */
+    public Map<String, Progress> progress() {
+        return Map.copyOf(progress);
+    }
+
+    private void recordChunk(String name, int rows) {
+        long elapsedMillis = (System.nanoTime() - starts.get(name)) / 1_000_000;
+        Progress current = progress.merge(name, new Progress(rows, 1, elapsedMillis),
+                (previous, chunk) -> new Progress(previous.rows() + chunk.rows(),
+                        previous.chunks() + chunk.chunks(), Math.max(previous.elapsedMillis(), chunk.elapsedMillis())));
+        LOGGER.debug("recordChunk:: {}: {} rows in {} chunks, {} rows/s",
+                name, current.rows(), current.chunks(), current.rowsPerSecond());
+    }
+
+    @SuppressWarnings("unchecked")
+    private GenericDao<Object> daoFor(Class<?> entityClass) {
+        GenericDao<?> dao = daos.get(entityClass);
+        if (dao == null) {
+            throw new IllegalArgumentException("Bulk loading is not supported for " + entityClass.getSimpleName());
+        }
+        return (GenericDao<Object>) dao;
+    }
+
+    /**
+     * Writes chunks of one load on the thread that uses it, each chunk in a transaction, and so on a connection,
+     * of its own. A writer is used by one thread at a time.
+     */
+    public final class Writer implements AutoCloseable {
+
+        private final String name;
+        private boolean assignmentsWritten;
+
+        private Writer(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Inserts the given entities in one transaction, or updates them if a row with the same ID
+         * already exists, as described for {@link BulkLoader#load(String, Iterator)}.
+         *
+         * @param entities the entities of the chunk
+         * @return the number of entities written
+         */
+        public int upsert(List<?> entities) {
+            Map<Class<?>, List<Object>> entitiesByClass = new LinkedHashMap<>();
+            for (Object entity : entities) {
+                entitiesByClass.computeIfAbsent(entity.getClass(), entityClass -> new ArrayList<>()).add(entity);
+            }
+            return inTransaction(() -> {
+                int rows = 0;
+                for (Map.Entry<Class<?>, List<Object>> group : entitiesByClass.entrySet()) {
+                    rows += daoFor(group.getKey()).upsertAll(group.getValue());
+                }
+                return rows;
+            });
+        }
+
+        /**
+         * Assigns trainers to trainees in one transaction, skipping assignments that already exist.
+         *
+         * @param assignments the assignments of the chunk; the trainees and trainers must already exist
+         * @return the number of assignments written
+         */
+        public int insertTrainerAssignments(List<TrainerAssignment> assignments) {
+            assignmentsWritten = true;
+            return inTransaction(() -> entityManager.unwrap(Session.class).doReturningWork(
+                    connection -> BulkLoader.insertTrainerAssignments(connection, assignments)));
+        }
+
+        private int inTransaction(IntSupplier work) {
+            Integer rows = transactionTemplate.execute(status -> work.getAsInt());
+            recordChunk(name, rows);
+            return rows;
+        }
+
+        @Override
+        public void close() {
+            // The DAOs evict the cached entities they write; Trainee.trainers and Trainer.trainees
+            // are not cached, but query results over them may be
+            if (assignmentsWritten) {
+                entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictQueryRegions();
+            }
+        }
+    }
+
+    /**
+     * Point-in-time progress of a load.
+     *
+     * @param rows          the number of rows written so far
+     * @param chunks        the number of chunks committed so far
+     * @param elapsedMillis the time since the load started
+     */
+    public record Progress(long rows, int chunks, long elapsedMillis) {
+
+        /**
+         * Returns the average throughput of the load.
+         *
+         * @return the rows written per second, or 0 if no time has elapsed
+         */
+        public double rowsPerSecond() {
+            return elapsedMillis > 0 ? rows * 1000.0 / elapsedMillis : 0;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.epam.learn.dao.bulk;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts entities, or updates them if a row with the same key already exists, with statements of many rows each.
+ * Entities mapped to several tables, e.g. the subclasses of a JOINED hierarchy, are written table by table in the
+ * given order, so the tables of superclasses must come first.
+ *
+ * @param <T> the entity type
+ */
+public final class BulkUpsert<T> {
+
+    /**
+     * Maximum number of parameters of one statement, the lower limit of older PostgreSQL drivers.
+     */
+    private static final int MAX_PARAMETERS = Short.MAX_VALUE;
+
+    private final UpsertDialect dialect;
+    private final List<UpsertTable<T>> tables;
+    private final int rowsPerStatement;
+
+    /**
+     * Creates a bulk upsert.
+     *
+     * @param dialect          the SQL of the database
+     * @param tables           the tables to write, superclass tables first
+     * @param rowsPerStatement the maximum number of rows of one statement; fewer are written per statement
+     *                         if the parameters would exceed what the drivers support
+     */
+    public BulkUpsert(UpsertDialect dialect, List<UpsertTable<T>> tables, int rowsPerStatement) {
+        if (tables.isEmpty() || rowsPerStatement <= 0) {
+            throw new IllegalArgumentException("At least one table and a positive number of rows per statement are required");
+        }
+        this.dialect = dialect;
+        this.tables = List.copyOf(tables);
+        this.rowsPerStatement = rowsPerStatement;
+    }
+
+    /**
+     * Writes the given entities on the given connection, in the transaction of the caller.
+     * If several entities have the same key, only the last one is written, since a statement
+     * cannot update the same row twice.
+     *
+     * @param connection the connection
+     * @param entities   the entities
+     * @return the number of distinct entities written
+     * @throws SQLException if a statement fails
+     */
+    public int execute(Connection connection, Collection<? extends T> entities) throws SQLException {
+        Map<Object, T> distinct = new LinkedHashMap<>();
+        for (T entity : entities) {
+            distinct.put(tables.get(0).key().value().apply(entity), entity);
+        }
+        List<T> rows = new ArrayList<>(distinct.values());
+
+        for (UpsertTable<T> table : tables) {
+            write(connection, table, rows);
+        }
+        return rows.size();
+    }
+
+    private void write(Connection connection, UpsertTable<T> table, List<T> rows) throws SQLException {
+        int columns = table.columns().size();
+        int statementRows = Math.max(1, Math.min(rowsPerStatement, MAX_PARAMETERS / columns));
+
+        PreparedStatement fullStatement = null;
+        try {
+            for (int from = 0; from < rows.size(); from += statementRows) {
+                List<T> slice = rows.subList(from, Math.min(from + statementRows, rows.size()));
+                if (slice.size() < statementRows) {
+                    try (PreparedStatement statement = connection.prepareStatement(dialect.sql(table, slice.size()))) {
+                        bind(statement, table, slice);
+                        statement.executeUpdate();
+                    }
+                } else {
+                    if (fullStatement == null) {
+                        fullStatement = connection.prepareStatement(dialect.sql(table, statementRows));
+                    }
+                    bind(fullStatement, table, slice);
+                    fullStatement.executeUpdate();
+                }
+            }
+        } finally {
+            if (fullStatement != null) {
+                fullStatement.close();
+            }
+        }
+    }
+
+    private static <T> void bind(PreparedStatement statement, UpsertTable<T> table, List<T> rows) throws SQLException {
+        int index = 1;
+        for (T row : rows) {
+            for (UpsertColumn<T> column : table.columns()) {
+                statement.setObject(index++, column.value().apply(row));
+            }
+        }
+    }
+}
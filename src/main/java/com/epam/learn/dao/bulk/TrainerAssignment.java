@@ -0,0 +1,12 @@
+package com.epam.learn.dao.bulk;
+
+import java.util.UUID;
+
+/**
+ * Assignment of a trainer to a trainee, i.e. one row of the {@code trainee_trainer} table.
+ *
+ * @param traineeId the ID of the trainee
+ * @param trainerId the ID of the trainer
+ */
+public record TrainerAssignment(UUID traineeId, UUID trainerId) {
+}
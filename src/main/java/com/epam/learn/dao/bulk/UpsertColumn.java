@@ -0,0 +1,13 @@
+package com.epam.learn.dao.bulk;
+
+import java.util.function.Function;
+
+/**
+ * A column written by a bulk upsert, with the function that reads its value from an entity.
+ *
+ * @param name  the name of the column
+ * @param value the function that reads the value to bind, e.g. the ID of a referenced entity
+ * @param <T>   the entity type
+ */
+public record UpsertColumn<T>(String name, Function<? super T, ?> value) {
+}
@@ -0,0 +1,82 @@
+package com.epam.learn.dao.bulk;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The SQL of a multi-row upsert on the supported databases.
+ */
+public enum UpsertDialect {
+
+    /**
+     * {@code insert ... values (...), (...) on conflict (key) do update set column = excluded.column, ...}
+     */
+    POSTGRESQL {
+        @Override
+        String sql(UpsertTable<?> table, int rows) {
+            List<String> columns = columnNames(table);
+            String key = columns.get(0);
+            List<String> updated = columns.subList(1, columns.size());
+            String conflictAction = updated.isEmpty()
+                    ? "do nothing"
+                    : updated.stream()
+                            .map(column -> column + " = excluded." + column)
+                            .collect(Collectors.joining(", ", "do update set ", ""));
+            return "insert into " + table.name() + " (" + String.join(", ", columns) + ") values "
+                    + rows(columns.size(), rows) + " on conflict (" + key + ") " + conflictAction;
+        }
+    },
+
+    /**
+     * {@code merge into ... key (key) values (...), (...)}
+     */
+    H2 {
+        @Override
+        String sql(UpsertTable<?> table, int rows) {
+            List<String> columns = columnNames(table);
+            return "merge into " + table.name() + " (" + String.join(", ", columns) + ") key (" + columns.get(0)
+                    + ") values " + rows(columns.size(), rows);
+        }
+    };
+
+    /**
+     * Gets the upsert SQL of the database of the given Hibernate dialect.
+     *
+     * @param dialect the dialect
+     * @return the upsert dialect
+     * @throws UnsupportedOperationException if bulk upserts are not supported on the database
+     */
+    public static UpsertDialect of(Dialect dialect) {
+        if (dialect instanceof PostgreSQLDialect) {
+            return POSTGRESQL;
+        }
+        if (dialect instanceof H2Dialect) {
+            return H2;
+        }
+        throw new UnsupportedOperationException("Bulk upsert is not supported for " + dialect.getClass().getSimpleName());
+    }
+
+    /**
+     * Builds the statement that upserts the given number of rows into the table,
+     * with one positional parameter per column of every row, row by row.
+     *
+     * @param table the table
+     * @param rows  the number of rows
+     * @return the SQL of the statement
+     */
+    abstract String sql(UpsertTable<?> table, int rows);
+
+    private static List<String> columnNames(UpsertTable<?> table) {
+        return table.columns().stream().map(UpsertColumn::name).toList();
+    }
+
+    private static String rows(int columns, int rows) {
+        String row = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+        return String.join(", ", Collections.nCopies(rows, row));
+    }
+}
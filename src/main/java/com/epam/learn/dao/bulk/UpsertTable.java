@@ -0,0 +1,30 @@
+package com.epam.learn.dao.bulk;
+
+import java.util.List;
+
+/**
+ * A table written by a bulk upsert. The first column is the primary key: rows with the same key
+ * are updated, all other rows are inserted.
+ *
+ * @param name    the name of the table
+ * @param columns the columns to write, starting with the primary key
+ * @param <T>     the entity type
+ */
+public record UpsertTable<T>(String name, List<UpsertColumn<T>> columns) {
+
+    public UpsertTable {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Table " + name + " must have at least a key column");
+        }
+        columns = List.copyOf(columns);
+    }
+
+    /**
+     * Returns the primary key column.
+     *
+     * @return the first column
+     */
+    public UpsertColumn<T> key() {
+        return columns.get(0);
+    }
+}
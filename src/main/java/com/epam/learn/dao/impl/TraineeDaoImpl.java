@@ -3,6 +3,7 @@ package com.epam.learn.dao.impl;
 import com.epam.learn.dao.AbstractUserDao;
 import com.epam.learn.dao.TraineeDao;
 import com.epam.learn.dao.annotation.Dao;
+import com.epam.learn.dao.bulk.UpsertColumn;
 import com.epam.learn.exception.EntityNotFoundException;
 import com.epam.learn.model.EntityType;
 import com.epam.learn.model.PagedResponse;
@@ -13,6 +14,7 @@ import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -33,6 +35,23 @@ public class TraineeDaoImpl extends AbstractUserDao<Trainee> implements TraineeD
         return EntityType.TRAINEE;
     }
 
+    @Override
+    protected String getSubtypeTable() {
+        return "trainees";
+    }
+
+    @Override
+    protected List<String> getTrainingParticipantColumns() {
+        return List.of("trainee_id");
+    }
+
+    @Override
+    protected List<UpsertColumn<Trainee>> getSubtypeUpsertColumns() {
+        return List.of(
+                new UpsertColumn<>("date_of_birth", Trainee::getDateOfBirth),
+                new UpsertColumn<>("address", Trainee::getAddress));
+    }
+
     @Override
     public PagedResponse<Trainee> findByFirstName(String firstName, int page, int size) {
         LOGGER.debug("Finding trainees by firstName: {}", firstName);
@@ -85,4 +104,17 @@ public class TraineeDaoImpl extends AbstractUserDao<Trainee> implements TraineeD
         entityManager.merge(trainee);
         LOGGER.debug("Trainers updated successfully for trainee with id: {}", traineeId);
     }
+
+    @Override
+    public PagedResponse<Trainee> findByTrainerId(UUID trainerId, int page, int size) {
+        LOGGER.debug("Finding trainees assigned to trainer with id: {}", trainerId);
+        DaoValidator.validateId(trainerId, "Trainer");
+        DaoValidator.validatePagination(page, size);
+
+        // The (trainee_id, trainer_id) key of trainee_trainer guarantees one row per trainee
+        return createPagedResponse(page, size,
+                (cb, root) -> cb.equal(root.join("trainers").get("id"), trainerId),
+                (cb, root) -> List.of(cb.asc(root.get("username")), cb.asc(root.get("id"))),
+                getDefaultEntityGraph());
+    }
 }
@@ -3,17 +3,20 @@ package com.epam.learn.dao.impl;
 import com.epam.learn.dao.AbstractUserDao;
 import com.epam.learn.dao.TrainerDao;
 import com.epam.learn.dao.annotation.Dao;
+import com.epam.learn.dao.bulk.UpsertColumn;
+import com.epam.learn.dao.query.QueryTemplate;
+import com.epam.learn.dao.query.QueryTemplateRegistry;
 import com.epam.learn.model.EntityType;
 import com.epam.learn.model.PagedResponse;
-import com.epam.learn.model.training.Training;
+import com.epam.learn.model.training.TrainingType;
 import com.epam.learn.model.user.Trainer;
 import com.epam.learn.util.validate.DaoValidator;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.TypedQuery;
-import jakarta.persistence.criteria.*;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,8 +28,22 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class TrainerDaoImpl extends AbstractUserDao<Trainer> implements TrainerDao {
 
-    public TrainerDaoImpl(EntityManager entityManager) {
+    /**
+     * Anti-join against the assignments of the trainee, answered by the primary key of trainee_trainer.
+     */
+    private static final String NOT_ASSIGNED_CONDITION =
+            "not exists (select 1 from t.trainees te where te.id = :traineeId)";
+
+    private final QueryTemplate notAssignedQuery;
+
+    public TrainerDaoImpl(EntityManager entityManager, QueryTemplateRegistry queryTemplates) {
         super(entityManager, Trainer.class);
+        this.notAssignedQuery = queryTemplates.register("Trainer.notAssignedToTrainee", QueryTemplate.select("Trainer", "t")
+                .fetch("t.specialization")
+                .where(NOT_ASSIGNED_CONDITION)
+                .optional("active", "t.active = :active")
+                .orderBy("t.username, t.id")
+                .build());
     }
 
     @Override
@@ -34,14 +51,38 @@ public class TrainerDaoImpl extends AbstractUserDao<Trainer> implements TrainerD
         return EntityType.TRAINER;
     }
 
+    @Override
+    protected String getSubtypeTable() {
+        return "trainers";
+    }
+
+    @Override
+    protected List<String> getTrainingParticipantColumns() {
+        return List.of("trainer_id");
+    }
+
+    @Override
+    protected List<UpsertColumn<Trainer>> getSubtypeUpsertColumns() {
+        return List.of(new UpsertColumn<>("specialization_id", trainer -> idOf(trainer.getSpecialization())));
+    }
+
+    private static UUID idOf(TrainingType trainingType) {
+        return trainingType != null ? trainingType.getId() : null;
+    }
+
+    @Override
+    protected String getDefaultEntityGraph() {
+        return Trainer.GRAPH_SPECIALIZATION;
+    }
+
     @Override
     @Transactional
     public void save(Trainer trainer) {
         LOGGER.debug("Saving trainer: {}", trainer.getUsername());
 
         try {
-            // Check if the trainer already exists
-            Trainer existingTrainer = entityManager.find(Trainer.class, trainer.getId());
+            // Check if the trainer already exists; a new trainer may not have an ID yet
+            Trainer existingTrainer = trainer.getId() == null ? null : entityManager.find(Trainer.class, trainer.getId());
             if (existingTrainer != null) {
                 // Update the existing trainer
                 entityManager.merge(trainer);
@@ -63,8 +104,13 @@ public class TrainerDaoImpl extends AbstractUserDao<Trainer> implements TrainerD
                     }
                 }
 
-                // Always use merge for trainers with IDs
-                entityManager.merge(trainer);
+                // Persist trainers without an ID, so that the generated ID is assigned to the given instance;
+                // always use merge for trainers with IDs
+                if (trainer.getId() == null) {
+                    entityManager.persist(trainer);
+                } else {
+                    entityManager.merge(trainer);
+                }
                 LOGGER.debug("Saved new trainer: {}", trainer.getUsername());
             }
         } catch (Exception e) {
@@ -118,43 +164,21 @@ public class TrainerDaoImpl extends AbstractUserDao<Trainer> implements TrainerD
 
     @Override
     public PagedResponse<Trainer> findNotAssignedToTrainee(UUID traineeId, int page, int size) {
-        LOGGER.debug("Finding trainers not assigned to trainee with ID: {}", traineeId);
+        return findNotAssignedToTrainee(traineeId, false, page, size);
+    }
+
+    @Override
+    public PagedResponse<Trainer> findNotAssignedToTrainee(UUID traineeId, boolean activeOnly, int page, int size) {
+        LOGGER.debug("Finding {}trainers not assigned to trainee with ID: {}", activeOnly ? "active " : "", traineeId);
         DaoValidator.validateId(traineeId, "Trainee");
         DaoValidator.validatePagination(page, size);
 
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Trainer> cq = cb.createQuery(Trainer.class);
-        Root<Trainer> root = cq.from(Trainer.class);
-
-        // Create a subquery to find trainers who have trainings with the specified trainee
-        Subquery<UUID> subquery = cq.subquery(UUID.class);
-        Root<Training> trainingRoot = subquery.from(Training.class);
-        subquery.select(trainingRoot.get("trainer").get("id"))
-               .where(cb.equal(trainingRoot.get("trainee").get("id"), traineeId));
-
-        // Main query: find trainers whose ID is not in the subquery result
-        cq.select(root).where(cb.not(root.get("id").in(subquery)));
-
-        // Count total matching entities
-        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-        Root<Trainer> countRoot = countQuery.from(Trainer.class);
-        Subquery<UUID> countSubquery = countQuery.subquery(UUID.class);
-        Root<Training> countTrainingRoot = countSubquery.from(Training.class);
-        countSubquery.select(countTrainingRoot.get("trainer").get("id"))
-                    .where(cb.equal(countTrainingRoot.get("trainee").get("id"), traineeId));
-        countQuery.select(cb.count(countRoot))
-                 .where(cb.not(countRoot.get("id").in(countSubquery)));
-        Long totalElements = entityManager.createQuery(countQuery).getSingleResult();
-
-        // Get paginated results
-        TypedQuery<Trainer> query = entityManager.createQuery(cq);
-        query.setFirstResult(page * size);
-        query.setMaxResults(size);
-        List<Trainer> results = query.getResultList();
-
-        // Calculate total pages
-        int totalPages = size > 0 ? (int) Math.ceil((double) totalElements / size) : 0;
-
-        return new PagedResponse<>(results, page, size, totalElements.intValue(), totalPages);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("traineeId", traineeId);
+        if (activeOnly) {
+            parameters.put("active", true);
+        }
+        // The specialization is fetched by the template, which keeps the query plan cached
+        return createPagedResponse(page, size, notAssignedQuery, parameters);
     }
 }
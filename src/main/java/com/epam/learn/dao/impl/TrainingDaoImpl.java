@@ -2,10 +2,19 @@ package com.epam.learn.dao.impl;
 
 import com.epam.learn.dao.AbstractDao;
 import com.epam.learn.dao.TrainingDao;
+import com.epam.learn.dao.TrainingFetchPlan;
 import com.epam.learn.dao.annotation.Dao;
+import com.epam.learn.dao.bulk.UpsertColumn;
+import com.epam.learn.dao.bulk.UpsertTable;
+import com.epam.learn.dao.query.QueryTemplate;
+import com.epam.learn.dao.query.QueryTemplateRegistry;
+import com.epam.learn.model.CursorPagedResponse;
 import com.epam.learn.model.EntityType;
 import com.epam.learn.model.PagedResponse;
+import com.epam.learn.model.SlicedResponse;
 import com.epam.learn.model.training.Training;
+import com.epam.learn.model.training.TrainingView;
+import com.epam.learn.util.cursor.CursorCodec;
 import com.epam.learn.util.validate.DaoValidator;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.Predicate;
@@ -14,6 +23,10 @@ import lombok.extern.slf4j.Slf4j;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -24,8 +37,78 @@ import java.util.UUID;
 @Slf4j
 public class TrainingDaoImpl extends AbstractDao<Training> implements TrainingDao {
 
-    public TrainingDaoImpl(EntityManager entityManager) {
+    /**
+     * Name of the {@link TrainingView} projection of the criteria templates.
+     */
+    private static final String VIEW = "view";
+
+    private final Map<TrainingFetchPlan, QueryTemplate> traineeCriteriaQueries = new EnumMap<>(TrainingFetchPlan.class);
+    private final Map<TrainingFetchPlan, QueryTemplate> trainerCriteriaQueries = new EnumMap<>(TrainingFetchPlan.class);
+
+    public TrainingDaoImpl(EntityManager entityManager, QueryTemplateRegistry queryTemplates) {
         super(entityManager, Training.class);
+        for (TrainingFetchPlan fetchPlan : TrainingFetchPlan.values()) {
+            traineeCriteriaQueries.put(fetchPlan, queryTemplates.register("Training.byTraineeCriteria." + fetchPlan,
+                    criteriaTemplate("t.trainee.id = :traineeId", fetchPlan)
+                            .optional("trainerName", "(t.trainer.firstName = :trainerName or t.trainer.lastName = :trainerName)")
+                            .optional("trainingType", "t.trainingType.name = :trainingType")
+                            .projection(VIEW, trainingView("trainer"))
+                            .build()));
+            trainerCriteriaQueries.put(fetchPlan, queryTemplates.register("Training.byTrainerCriteria." + fetchPlan,
+                    criteriaTemplate("t.trainer.id = :trainerId", fetchPlan)
+                            .optional("traineeName", "(t.trainee.firstName = :traineeName or t.trainee.lastName = :traineeName)")
+                            .projection(VIEW, trainingView("trainee"))
+                            .build()));
+        }
+    }
+
+    /**
+     * Creates the builder of a criteria template with the conditions shared by the trainee and trainer searches:
+     * the date range and the seek condition of keyset pagination, which only matches trainings sorted after the
+     * {@code (trainingDate, id)} pair of the cursor of the previous page. The trainings are sorted by that pair,
+     * so the owner condition, the seek condition and the order are answered by the
+     * {@code (trainee_id, training_date, id)} and {@code (trainer_id, training_date, id)} indexes of trainings.
+     *
+     * @param ownerCondition the condition on the trainee or trainer the trainings belong to
+     * @param fetchPlan      the associations fetched with the trainings
+     * @return the builder
+     */
+    private static QueryTemplate.Builder criteriaTemplate(String ownerCondition, TrainingFetchPlan fetchPlan) {
+        return fetch(QueryTemplate.select("Training", "t"), fetchPlan)
+                .where(ownerCondition)
+                .optional("fromDate", "t.trainingDate >= :fromDate")
+                .optional("toDate", "t.trainingDate <= :toDate")
+                .optional("afterDate", "(t.trainingDate > :afterDate or (t.trainingDate = :afterDate and t.id > :afterId))")
+                .orderBy("t.trainingDate, t.id");
+    }
+
+    /**
+     * Adds the fetch joins of a fetch plan. The plans are fetch joins of the templates rather than entity graph
+     * hints, since Hibernate does not cache the translation of a query with an applied graph.
+     *
+     * @param builder   the builder of the template
+     * @param fetchPlan the associations to fetch
+     * @return the builder
+     */
+    private static QueryTemplate.Builder fetch(QueryTemplate.Builder builder, TrainingFetchPlan fetchPlan) {
+        return switch (fetchPlan) {
+            case ALL -> builder.fetch("t.trainee").fetch("t.trainer tr").fetch("tr.specialization")
+                    .fetch("t.trainingType");
+            case TRAINER_AND_TYPE -> builder.fetch("t.trainer").fetch("t.trainingType");
+            case TRAINEE_AND_TYPE -> builder.fetch("t.trainee").fetch("t.trainingType");
+            case NONE -> builder;
+        };
+    }
+
+    /**
+     * Creates the selection of a training view.
+     *
+     * @param counterpart the association of the other participant, "trainer" or "trainee"
+     * @return the JPQL constructor expression
+     */
+    private static String trainingView(String counterpart) {
+        return "new " + TrainingView.class.getName() + "(t.id, t.trainingName, t.trainingDate, t.trainingType.name, "
+                + "t.trainingDuration, t." + counterpart + ".firstName, t." + counterpart + ".lastName)";
     }
 
     @Override
@@ -33,6 +116,24 @@ public class TrainingDaoImpl extends AbstractDao<Training> implements TrainingDa
         return EntityType.TRAINING;
     }
 
+    @Override
+    protected String getDefaultEntityGraph() {
+        return Training.GRAPH_ALL;
+    }
+
+    @Override
+    protected List<UpsertTable<Training>> getUpsertTables() {
+        return List.of(new UpsertTable<>("trainings", List.of(
+                new UpsertColumn<>("id", Training::getId),
+                new UpsertColumn<>("trainee_id", training -> training.getTrainee() != null ? training.getTrainee().getId() : null),
+                new UpsertColumn<>("trainer_id", training -> training.getTrainer() != null ? training.getTrainer().getId() : null),
+                new UpsertColumn<>("training_type_id",
+                        training -> training.getTrainingType() != null ? training.getTrainingType().getId() : null),
+                new UpsertColumn<>("training_name", Training::getTrainingName),
+                new UpsertColumn<>("training_date", Training::getTrainingDate),
+                new UpsertColumn<>("training_duration", Training::getTrainingDuration))));
+    }
+
     @Override
     public PagedResponse<Training> findByTraineeId(UUID traineeId, int page, int size) {
         LOGGER.debug("Finding trainings by traineeId: {}", traineeId);
@@ -89,43 +190,19 @@ public class TrainingDaoImpl extends AbstractDao<Training> implements TrainingDa
         LOGGER.debug("Finding trainings by trainee criteria: traineeId={}, fromDate={}, toDate={}, trainerName={}, trainingType={}",
                 traineeId, fromDate, toDate, trainerName, trainingType);
 
+        return findByTraineeCriteria(traineeId, fromDate, toDate, trainerName, trainingType, page, size,
+                TrainingFetchPlan.ALL);
+    }
+
+    @Override
+    public PagedResponse<Training> findByTraineeCriteria(UUID traineeId, LocalDate fromDate, LocalDate toDate,
+                                                       String trainerName, String trainingType, int page, int size,
+                                                       TrainingFetchPlan fetchPlan) {
         DaoValidator.validateId(traineeId, "Trainee");
         DaoValidator.validatePagination(page, size);
 
-        return createPagedResponse(page, size, (cb, root) -> {
-            // Start with the trainee ID predicate (required)
-            Predicate predicate = cb.equal(root.get("trainee").get("id"), traineeId);
-
-            // Add date range predicates if provided
-            if (fromDate != null) {
-                LocalDateTime fromDateTime = fromDate.atStartOfDay();
-                predicate = cb.and(predicate, 
-                    cb.greaterThanOrEqualTo(root.get("trainingDate"), fromDateTime));
-            }
-
-            if (toDate != null) {
-                LocalDateTime toDateTime = toDate.atTime(LocalTime.MAX);
-                predicate = cb.and(predicate, 
-                    cb.lessThanOrEqualTo(root.get("trainingDate"), toDateTime));
-            }
-
-            // Add trainer name predicate if provided
-            if (trainerName != null && !trainerName.isEmpty()) {
-                predicate = cb.and(predicate, 
-                    cb.or(
-                        cb.equal(root.get("trainer").get("firstName"), trainerName),
-                        cb.equal(root.get("trainer").get("lastName"), trainerName)
-                    ));
-            }
-
-            // Add training type predicate if provided
-            if (trainingType != null && !trainingType.isEmpty()) {
-                predicate = cb.and(predicate, 
-                    cb.equal(root.get("trainingType").get("name"), trainingType));
-            }
-
-            return predicate;
-        });
+        return createPagedResponse(page, size, traineeCriteriaQueries.get(fetchPlan),
+                traineeParameters(traineeId, fromDate, toDate, trainerName, trainingType));
     }
 
     @Override
@@ -134,36 +211,172 @@ public class TrainingDaoImpl extends AbstractDao<Training> implements TrainingDa
         LOGGER.debug("Finding trainings by trainer criteria: trainerId={}, fromDate={}, toDate={}, traineeName={}",
                 trainerId, fromDate, toDate, traineeName);
 
+        return findByTrainerCriteria(trainerId, fromDate, toDate, traineeName, page, size, TrainingFetchPlan.ALL);
+    }
+
+    @Override
+    public PagedResponse<Training> findByTrainerCriteria(UUID trainerId, LocalDate fromDate, LocalDate toDate,
+                                                       String traineeName, int page, int size,
+                                                       TrainingFetchPlan fetchPlan) {
         DaoValidator.validateId(trainerId, "Trainer");
         DaoValidator.validatePagination(page, size);
 
-        return createPagedResponse(page, size, (cb, root) -> {
-            // Start with the trainer ID predicate (required)
-            Predicate predicate = cb.equal(root.get("trainer").get("id"), trainerId);
-
-            // Add date range predicates if provided
-            if (fromDate != null) {
-                LocalDateTime fromDateTime = fromDate.atStartOfDay();
-                predicate = cb.and(predicate, 
-                    cb.greaterThanOrEqualTo(root.get("trainingDate"), fromDateTime));
-            }
-
-            if (toDate != null) {
-                LocalDateTime toDateTime = toDate.atTime(LocalTime.MAX);
-                predicate = cb.and(predicate, 
-                    cb.lessThanOrEqualTo(root.get("trainingDate"), toDateTime));
-            }
-
-            // Add trainee name predicate if provided
-            if (traineeName != null && !traineeName.isEmpty()) {
-                predicate = cb.and(predicate, 
-                    cb.or(
-                        cb.equal(root.get("trainee").get("firstName"), traineeName),
-                        cb.equal(root.get("trainee").get("lastName"), traineeName)
-                    ));
-            }
-
-            return predicate;
-        });
+        return createPagedResponse(page, size, trainerCriteriaQueries.get(fetchPlan),
+                trainerParameters(trainerId, fromDate, toDate, traineeName));
+    }
+
+    @Override
+    public CursorPagedResponse<Training> findByTraineeCriteria(UUID traineeId, LocalDate fromDate, LocalDate toDate,
+                                                              String trainerName, String trainingType,
+                                                              String cursor, int size) {
+        LOGGER.debug("Finding trainings by trainee criteria with cursor: traineeId={}, fromDate={}, toDate={}, trainerName={}, trainingType={}",
+                traineeId, fromDate, toDate, trainerName, trainingType);
+
+        DaoValidator.validateId(traineeId, "Trainee");
+
+        Map<String, Object> parameters = traineeParameters(traineeId, fromDate, toDate, trainerName, trainingType);
+        putSeekParameters(parameters, CursorCodec.decodeTrainingCursor(cursor));
+        return createCursorPagedResponse(size, traineeCriteriaQueries.get(TrainingFetchPlan.ALL), parameters, TrainingDaoImpl::toCursor);
+    }
+
+    @Override
+    public CursorPagedResponse<Training> findByTrainerCriteria(UUID trainerId, LocalDate fromDate, LocalDate toDate,
+                                                              String traineeName, String cursor, int size) {
+        LOGGER.debug("Finding trainings by trainer criteria with cursor: trainerId={}, fromDate={}, toDate={}, traineeName={}",
+                trainerId, fromDate, toDate, traineeName);
+
+        DaoValidator.validateId(trainerId, "Trainer");
+
+        Map<String, Object> parameters = trainerParameters(trainerId, fromDate, toDate, traineeName);
+        putSeekParameters(parameters, CursorCodec.decodeTrainingCursor(cursor));
+        return createCursorPagedResponse(size, trainerCriteriaQueries.get(TrainingFetchPlan.ALL), parameters, TrainingDaoImpl::toCursor);
+    }
+
+    @Override
+    public SlicedResponse<Training> findSliceByTraineeCriteria(UUID traineeId, LocalDate fromDate, LocalDate toDate,
+                                                              String trainerName, String trainingType, int page, int size) {
+        LOGGER.debug("Finding a slice of trainings by trainee criteria: traineeId={}, fromDate={}, toDate={}, trainerName={}, trainingType={}",
+                traineeId, fromDate, toDate, trainerName, trainingType);
+
+        DaoValidator.validateId(traineeId, "Trainee");
+
+        return createSlicedResponse(page, size, traineeCriteriaQueries.get(TrainingFetchPlan.ALL),
+                traineeParameters(traineeId, fromDate, toDate, trainerName, trainingType));
+    }
+
+    @Override
+    public SlicedResponse<Training> findSliceByTrainerCriteria(UUID trainerId, LocalDate fromDate, LocalDate toDate,
+                                                              String traineeName, int page, int size) {
+        LOGGER.debug("Finding a slice of trainings by trainer criteria: trainerId={}, fromDate={}, toDate={}, traineeName={}",
+                trainerId, fromDate, toDate, traineeName);
+
+        DaoValidator.validateId(trainerId, "Trainer");
+
+        return createSlicedResponse(page, size, trainerCriteriaQueries.get(TrainingFetchPlan.ALL),
+                trainerParameters(trainerId, fromDate, toDate, traineeName));
+    }
+
+    @Override
+    public PagedResponse<TrainingView> findViewsByTraineeCriteria(UUID traineeId, LocalDate fromDate, LocalDate toDate,
+                                                                 String trainerName, String trainingType, int page, int size) {
+        LOGGER.debug("Finding training views by trainee criteria: traineeId={}, fromDate={}, toDate={}, trainerName={}, trainingType={}",
+                traineeId, fromDate, toDate, trainerName, trainingType);
+
+        DaoValidator.validateId(traineeId, "Trainee");
+
+        return createProjectedPagedResponse(page, size, TrainingView.class, traineeCriteriaQueries.get(TrainingFetchPlan.ALL), VIEW,
+                traineeParameters(traineeId, fromDate, toDate, trainerName, trainingType));
+    }
+
+    @Override
+    public PagedResponse<TrainingView> findViewsByTrainerCriteria(UUID trainerId, LocalDate fromDate, LocalDate toDate,
+                                                                 String traineeName, int page, int size) {
+        LOGGER.debug("Finding training views by trainer criteria: trainerId={}, fromDate={}, toDate={}, traineeName={}",
+                trainerId, fromDate, toDate, traineeName);
+
+        DaoValidator.validateId(trainerId, "Trainer");
+
+        return createProjectedPagedResponse(page, size, TrainingView.class, trainerCriteriaQueries.get(TrainingFetchPlan.ALL), VIEW,
+                trainerParameters(trainerId, fromDate, toDate, traineeName));
+    }
+
+    /**
+     * Creates the parameters of a criteria query template with the owner ID and the date range.
+     * The date parameters are only added when present, which selects the matching template variant.
+     *
+     * @param ownerParameter the name of the owner ID parameter
+     * @param ownerId        the ID of the trainee or trainer
+     * @param fromDate       the start date; can be null
+     * @param toDate         the end date; can be null
+     * @return the parameters
+     */
+    private static Map<String, Object> criteriaParameters(String ownerParameter, UUID ownerId,
+                                                          LocalDate fromDate, LocalDate toDate) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put(ownerParameter, ownerId);
+        if (fromDate != null) {
+            parameters.put("fromDate", fromDate.atStartOfDay());
+        }
+        if (toDate != null) {
+            parameters.put("toDate", toDate.atTime(LocalTime.MAX));
+        }
+        return parameters;
+    }
+
+    private static void putIfNotEmpty(Map<String, Object> parameters, String name, String value) {
+        if (value != null && !value.isEmpty()) {
+            parameters.put(name, value);
+        }
+    }
+
+    /**
+     * Creates the parameters of the search for the trainings of a trainee.
+     *
+     * @param traineeId    the ID of the trainee (required)
+     * @param fromDate     the start date; can be null
+     * @param toDate       the end date; can be null
+     * @param trainerName  the first or last name of the trainer; can be null or empty
+     * @param trainingType the name of the training type; can be null or empty
+     * @return the parameters of {@link #traineeCriteriaQueries}
+     */
+    private static Map<String, Object> traineeParameters(UUID traineeId, LocalDate fromDate, LocalDate toDate,
+                                                         String trainerName, String trainingType) {
+        Map<String, Object> parameters = criteriaParameters("traineeId", traineeId, fromDate, toDate);
+        putIfNotEmpty(parameters, "trainerName", trainerName);
+        putIfNotEmpty(parameters, "trainingType", trainingType);
+        return parameters;
+    }
+
+    /**
+     * Creates the parameters of the search for the trainings of a trainer.
+     *
+     * @param trainerId   the ID of the trainer (required)
+     * @param fromDate    the start date; can be null
+     * @param toDate      the end date; can be null
+     * @param traineeName the first or last name of the trainee; can be null or empty
+     * @return the parameters of {@link #trainerCriteriaQueries}
+     */
+    private static Map<String, Object> trainerParameters(UUID trainerId, LocalDate fromDate, LocalDate toDate,
+                                                         String traineeName) {
+        Map<String, Object> parameters = criteriaParameters("trainerId", trainerId, fromDate, toDate);
+        putIfNotEmpty(parameters, "traineeName", traineeName);
+        return parameters;
+    }
+
+    /**
+     * Adds the parameters of the seek condition of keyset pagination, which select the template variant with it.
+     *
+     * @param parameters the parameters of the search
+     * @param cursor     the decoded cursor of the previous page; null for the first page
+     */
+    private static void putSeekParameters(Map<String, Object> parameters, CursorCodec.TrainingCursor cursor) {
+        if (cursor != null) {
+            parameters.put("afterDate", cursor.trainingDate());
+            parameters.put("afterId", cursor.id());
+        }
+    }
+
+    private static String toCursor(Training training) {
+        return CursorCodec.encodeTrainingCursor(training.getTrainingDate(), training.getId());
     }
 }
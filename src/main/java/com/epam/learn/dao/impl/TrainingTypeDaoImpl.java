@@ -3,6 +3,8 @@ package com.epam.learn.dao.impl;
 import com.epam.learn.dao.AbstractDao;
 import com.epam.learn.dao.TrainingTypeDao;
 import com.epam.learn.dao.annotation.Dao;
+import com.epam.learn.dao.bulk.UpsertColumn;
+import com.epam.learn.dao.bulk.UpsertTable;
 import com.epam.learn.model.EntityType;
 import com.epam.learn.model.PagedResponse;
 import com.epam.learn.model.training.TrainingType;
@@ -13,7 +15,9 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,6 +37,13 @@ public class TrainingTypeDaoImpl extends AbstractDao<TrainingType> implements Tr
         return EntityType.TRAINING_TYPE;
     }
 
+    @Override
+    protected List<UpsertTable<TrainingType>> getUpsertTables() {
+        return List.of(new UpsertTable<>("training_types", List.of(
+                new UpsertColumn<>("id", TrainingType::getId),
+                new UpsertColumn<>("name", TrainingType::getName))));
+    }
+
     @Override
     public Optional<TrainingType> findByNameIgnoreCase(String name) {
         LOGGER.debug("Finding training type by name (ignore case): {}", name);
@@ -46,7 +57,8 @@ public class TrainingTypeDaoImpl extends AbstractDao<TrainingType> implements Tr
         cq.select(root)
           .where(cb.equal(cb.lower(root.get("name")), name.toLowerCase()));
 
-        TypedQuery<TrainingType> query = entityManager.createQuery(cq);
+        TypedQuery<TrainingType> query = applyReadOnlyHints(entityManager.createQuery(cq))
+                .setHint(HibernateHints.HINT_CACHEABLE, true);
 
         try {
             return Optional.of(query.getSingleResult());
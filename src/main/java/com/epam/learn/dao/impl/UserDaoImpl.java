@@ -0,0 +1,41 @@
+package com.epam.learn.dao.impl;
+
+import com.epam.learn.dao.AbstractUserDao;
+import com.epam.learn.dao.UserDao;
+import com.epam.learn.dao.annotation.Dao;
+import com.epam.learn.model.EntityType;
+import com.epam.learn.model.user.User;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * JPA implementation of UserDao over the root of the user hierarchy.
+ * Queries run against {@code users} joined with every subtype table in a single statement,
+ * so a user can be looked up without knowing whether it is a trainee or a trainer;
+ * the returned entities are instances of the concrete subtype.
+ */
+@Dao
+@Slf4j
+public class UserDaoImpl extends AbstractUserDao<User> implements UserDao<User> {
+
+    public UserDaoImpl(EntityManager entityManager) {
+        super(entityManager, User.class);
+    }
+
+    @Override
+    protected EntityType getEntityType() {
+        return EntityType.USER;
+    }
+
+    @Override
+    protected String getSubtypeTable() {
+        return null;
+    }
+
+    @Override
+    protected List<String> getTrainingParticipantColumns() {
+        return List.of("trainee_id", "trainer_id");
+    }
+}
@@ -0,0 +1,222 @@
+package com.epam.learn.dao.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parameterized JPQL query with optional filters, expanded into all of its variants up front.
+ * Each optional condition is keyed by the name of the parameter it binds, and the variant for a call
+ * is chosen by the parameters that are present. Because every call with the same set of filters
+ * produces exactly the same JPQL string, Hibernate translates each variant only once and reuses
+ * the translation from its query plan cache.
+ *
+ * <p>Besides the entities, a template can select named projections (e.g. DTO constructor expressions)
+ * with the same conditions, so every finder over the same filters shares a single definition of them.</p>
+ */
+public final class QueryTemplate {
+
+    private final List<String> optionalParameters;
+    private final String[] selectVariants;
+    private final String[] countVariants;
+    private final String[] windowCountVariants;
+    private final Map<String, String[]> projectionVariants = new LinkedHashMap<>();
+
+    private QueryTemplate(String entity, String alias, String fetches, List<String> conditions,
+                          Map<String, String> optionalConditions, String orderBy, Map<String, String> projections) {
+        this.optionalParameters = List.copyOf(optionalConditions.keySet());
+        int variants = 1 << optionalParameters.size();
+        this.selectVariants = new String[variants];
+        this.countVariants = new String[variants];
+        this.windowCountVariants = new String[variants];
+        projections.keySet().forEach(name -> projectionVariants.put(name, new String[variants]));
+
+        List<String> optional = List.copyOf(optionalConditions.values());
+        String order = orderBy == null ? "" : " order by " + orderBy;
+        for (int variant = 0; variant < variants; variant++) {
+            List<String> where = new ArrayList<>(conditions);
+            for (int i = 0; i < optional.size(); i++) {
+                if ((variant & (1 << i)) != 0) {
+                    where.add(optional.get(i));
+                }
+            }
+            String root = " from " + entity + " " + alias;
+            String filter = where.isEmpty() ? "" : " where " + String.join(" and ", where);
+            String from = root + filter;
+            String fetchFrom = root + fetches + filter;
+            selectVariants[variant] = "select " + alias + fetchFrom + order;
+            countVariants[variant] = "select count(" + alias + ")" + from;
+            windowCountVariants[variant] = "select " + alias + ", count(*) over ()" + fetchFrom + order;
+            for (Map.Entry<String, String> projection : projections.entrySet()) {
+                projectionVariants.get(projection.getKey())[variant] = "select " + projection.getValue() + from + order;
+            }
+        }
+    }
+
+    /**
+     * Creates a builder for a template selecting the given entity.
+     *
+     * @param entity the entity name
+     * @param alias  the alias of the entity used in the conditions
+     * @return the builder
+     */
+    public static Builder select(String entity, String alias) {
+        return new Builder(entity, alias);
+    }
+
+    /**
+     * Gets the select query of the variant matching the given parameters.
+     *
+     * @param parameters the names of the parameters that are bound
+     * @return the JPQL select query
+     */
+    public String selectQuery(Collection<String> parameters) {
+        return selectVariants[variant(parameters)];
+    }
+
+    /**
+     * Gets the count query of the variant matching the given parameters.
+     *
+     * @param parameters the names of the parameters that are bound
+     * @return the JPQL count query
+     */
+    public String countQuery(Collection<String> parameters) {
+        return countVariants[variant(parameters)];
+    }
+
+    /**
+     * Gets the select query of the variant matching the given parameters that also selects the number of
+     * matching rows as {@code count(*) over ()} in every row, so a page and its total come back together.
+     *
+     * @param parameters the names of the parameters that are bound
+     * @return the JPQL select query of the entity and the window count
+     */
+    public String windowCountQuery(Collection<String> parameters) {
+        return windowCountVariants[variant(parameters)];
+    }
+
+    /**
+     * Gets the query of the given projection in the variant matching the given parameters.
+     *
+     * @param projection the name of the projection
+     * @param parameters the names of the parameters that are bound
+     * @return the JPQL select query of the projection
+     * @throws IllegalArgumentException if the template has no projection with the given name
+     */
+    public String projectionQuery(String projection, Collection<String> parameters) {
+        String[] variants = projectionVariants.get(projection);
+        if (variants == null) {
+            throw new IllegalArgumentException("Unknown projection: " + projection);
+        }
+        return variants[variant(parameters)];
+    }
+
+    /**
+     * @return the select, count, window count and projection queries of all variants
+     */
+    List<String> allQueries() {
+        List<String> queries = new ArrayList<>(List.of(selectVariants));
+        queries.addAll(List.of(countVariants));
+        queries.addAll(List.of(windowCountVariants));
+        projectionVariants.values().forEach(variants -> queries.addAll(List.of(variants)));
+        return queries;
+    }
+
+    private int variant(Collection<String> parameters) {
+        int variant = 0;
+        for (int i = 0; i < optionalParameters.size(); i++) {
+            if (parameters.contains(optionalParameters.get(i))) {
+                variant |= 1 << i;
+            }
+        }
+        return variant;
+    }
+
+    /**
+     * Builder of {@link QueryTemplate}.
+     */
+    public static final class Builder {
+
+        private final String entity;
+        private final String alias;
+        private final StringBuilder fetches = new StringBuilder();
+        private final List<String> conditions = new ArrayList<>();
+        private final Map<String, String> optionalConditions = new LinkedHashMap<>();
+        private final Map<String, String> projections = new LinkedHashMap<>();
+        private String orderBy;
+
+        private Builder(String entity, String alias) {
+            this.entity = entity;
+            this.alias = alias;
+        }
+
+        /**
+         * Adds an association fetched with the entity by the select queries; the count and projection queries
+         * do not join it. Unlike an entity graph hint, a fetch join keeps the query in Hibernate's plan cache,
+         * which does not cache the translation of queries with an applied graph.
+         *
+         * @param path the path of the association, e.g. {@code t.specialization}
+         * @return this builder
+         */
+        public Builder fetch(String path) {
+            fetches.append(" join fetch ").append(path);
+            return this;
+        }
+
+        /**
+         * Adds a condition that is part of every variant.
+         *
+         * @param condition the JPQL condition
+         * @return this builder
+         */
+        public Builder where(String condition) {
+            conditions.add(condition);
+            return this;
+        }
+
+        /**
+         * Adds a condition that is only part of the variants in which its parameter is bound.
+         *
+         * @param parameter the name of the parameter bound by the condition
+         * @param condition the JPQL condition
+         * @return this builder
+         */
+        public Builder optional(String parameter, String condition) {
+            optionalConditions.put(parameter, condition);
+            return this;
+        }
+
+        /**
+         * Sets the sort order of the select and projection queries; the count queries are not sorted.
+         *
+         * @param orderBy the JPQL sort items, e.g. {@code t.trainingDate, t.id}
+         * @return this builder
+         */
+        public Builder orderBy(String orderBy) {
+            this.orderBy = orderBy;
+            return this;
+        }
+
+        /**
+         * Adds a projection selected with the conditions of the template instead of the entity.
+         *
+         * @param name      the name of the projection
+         * @param selection the JPQL selection, e.g. a constructor expression
+         * @return this builder
+         */
+        public Builder projection(String name, String selection) {
+            projections.put(name, selection);
+            return this;
+        }
+
+        /**
+         * @return the template with all variants expanded
+         */
+        public QueryTemplate build() {
+            return new QueryTemplate(entity, alias, fetches.toString(), conditions, optionalConditions, orderBy,
+                    projections);
+        }
+    }
+}
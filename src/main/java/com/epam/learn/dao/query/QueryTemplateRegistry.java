@@ -0,0 +1,77 @@
+package com.epam.learn.dao.query;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link QueryTemplate}s of the DAOs.
+ * Once all beans have been created, every variant of every registered template is compiled,
+ * so a malformed query fails the startup and the translations are already in Hibernate's
+ * query plan cache when the first request arrives. If the EntityManagerFactory is bootstrapped in
+ * the background ({@code startup.background-bootstrap}), the templates are compiled in the background
+ * too, once it is ready, and a malformed query is logged instead of failing the startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryTemplateRegistry implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<String, QueryTemplate> templates = new ConcurrentHashMap<>();
+
+    @Value("${startup.background-bootstrap:false}")
+    private boolean background;
+
+    /**
+     * Registers a template under the given name.
+     *
+     * @param name     the unique name of the template
+     * @param template the template
+     * @return the registered template
+     * @throws IllegalStateException if a template with the same name is already registered
+     */
+    public QueryTemplate register(String name, QueryTemplate template) {
+        if (templates.putIfAbsent(name, template) != null) {
+            throw new IllegalStateException("Query template " + name + " is already registered");
+        }
+        return template;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!background) {
+            compileAll();
+            return;
+        }
+
+        Thread compiler = new Thread(() -> {
+            try {
+                compileAll();
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to compile query templates", e);
+            }
+        }, "query-template-compiler");
+        compiler.setDaemon(true);
+        compiler.start();
+    }
+
+    private void compileAll() {
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            templates.forEach((name, template) -> {
+                for (String query : template.allQueries()) {
+                    entityManager.createQuery(query);
+                }
+                LOGGER.debug("Compiled {} queries of template {}", template.allQueries().size(), name);
+            });
+        }
+        LOGGER.info("Compiled {} query templates", templates.size());
+    }
+}
@@ -0,0 +1,21 @@
+package com.epam.learn.model;
+
+import java.util.List;
+
+/**
+ * A page of results fetched with keyset (seek) pagination.
+ * Instead of a page number, the next page is requested with the opaque {@code nextCursor} token,
+ * so the database seeks directly to the first row of the page instead of skipping an offset.
+ *
+ * @param content    the elements of the page
+ * @param size       the requested page size
+ * @param nextCursor the continuation token for the next page, or null if this is the last page
+ * @param hasNext    whether there is a next page
+ */
+public record CursorPagedResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext
+) {
+}
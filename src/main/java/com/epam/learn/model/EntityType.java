@@ -6,6 +6,7 @@ import lombok.Getter;
 @Getter
 @AllArgsConstructor
 public enum EntityType {
+    USER("User"),
     TRAINEE("Trainee"),
     TRAINER("Trainer"),
     TRAINING("Training"),
@@ -0,0 +1,21 @@
+package com.epam.learn.model;
+
+import java.util.List;
+
+/**
+ * A page of results fetched without counting the total number of matching elements.
+ * One extra row is requested to find out whether there is a next page, which is all
+ * that infinite-scroll style consumers need and saves the {@code COUNT(*)} query of {@link PagedResponse}.
+ *
+ * @param content the elements of the page
+ * @param page    the zero-based page index
+ * @param size    the requested page size
+ * @param hasNext whether there is a next page
+ */
+public record SlicedResponse<T>(
+        List<T> content,
+        int page,
+        int size,
+        boolean hasNext
+) {
+}
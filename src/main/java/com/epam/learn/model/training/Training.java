@@ -5,7 +5,9 @@ import com.epam.learn.model.user.Trainer;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -14,24 +16,42 @@ import java.util.UUID;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "trainings")
+@NamedEntityGraph(name = Training.GRAPH_ALL, attributeNodes = {
+        @NamedAttributeNode("trainee"),
+        @NamedAttributeNode(value = "trainer", subgraph = "trainer"),
+        @NamedAttributeNode("trainingType")
+}, subgraphs = @NamedSubgraph(name = "trainer", attributeNodes = @NamedAttributeNode("specialization")))
+@Table(name = "trainings", indexes = {
+        @Index(name = "idx_trainings_trainee_date", columnList = "trainee_id, training_date, id"),
+        @Index(name = "idx_trainings_trainer_date", columnList = "trainer_id, training_date, id"),
+        @Index(name = "idx_trainings_training_date", columnList = "training_date"),
+        @Index(name = "idx_trainings_training_type", columnList = "training_type_id")
+})
 public class Training {
+    public static final String GRAPH_ALL = "Training.all";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
 
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "trainee_id", nullable = false)
     private Trainee trainee;
 
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "trainer_id", nullable = false)
     private Trainer trainer;
 
     @Column(name = "training_name", nullable = false)
     private String trainingName;
 
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "training_type_id", nullable = false)
     private TrainingType trainingType;
 
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
@@ -12,6 +14,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "training_types")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "trainingTypes")
 public class TrainingType {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
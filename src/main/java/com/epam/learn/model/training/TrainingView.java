@@ -0,0 +1,28 @@
+package com.epam.learn.model.training;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only view of a training for training history searches.
+ * It is selected directly from the database, so no entities are loaded into the persistence context.
+ *
+ * @param id                   the ID of the training
+ * @param trainingName         the name of the training
+ * @param trainingDate         the date of the training
+ * @param trainingType         the name of the training type
+ * @param trainingDuration     the duration of the training in minutes
+ * @param counterpartFirstName the first name of the other participant: the trainer for a trainee's history,
+ *                             the trainee for a trainer's history
+ * @param counterpartLastName  the last name of the other participant
+ */
+public record TrainingView(
+        UUID id,
+        String trainingName,
+        LocalDateTime trainingDate,
+        String trainingType,
+        int trainingDuration,
+        String counterpartFirstName,
+        String counterpartLastName
+) {
+}
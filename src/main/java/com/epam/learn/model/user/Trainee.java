@@ -27,7 +27,8 @@ public class Trainee extends User {
     @JoinTable(
         name = "trainee_trainer",
         joinColumns = @JoinColumn(name = "trainee_id"),
-        inverseJoinColumns = @JoinColumn(name = "trainer_id")
+        inverseJoinColumns = @JoinColumn(name = "trainer_id"),
+        indexes = @Index(name = "idx_trainee_trainer_trainer", columnList = "trainer_id, trainee_id")
     )
     private Set<Trainer> trainers = new HashSet<>();
 }
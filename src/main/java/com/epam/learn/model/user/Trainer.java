@@ -16,10 +16,14 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "trainers")
+@NamedEntityGraph(name = Trainer.GRAPH_SPECIALIZATION, attributeNodes = @NamedAttributeNode("specialization"))
 @EqualsAndHashCode(callSuper = true)
 public class Trainer extends User {
+    public static final String GRAPH_SPECIALIZATION = "Trainer.specialization";
 
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "specialization_id", nullable = false)
     private TrainingType specialization;
 
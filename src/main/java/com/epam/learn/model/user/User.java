@@ -2,14 +2,22 @@ package com.epam.learn.model.user;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
 @Data
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_first_name_last_name", columnList = "first_name, last_name"),
+        @Index(name = "idx_users_last_name", columnList = "last_name"),
+        @Index(name = "idx_users_is_active", columnList = "is_active")
+})
 @Inheritance(strategy = InheritanceType.JOINED)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public abstract class User {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -31,6 +39,15 @@ public abstract class User {
     @Column(nullable = false)
     private String password;
 
+    /**
+     * The plaintext password generated when the user was created, so it can be shown to the user once.
+     * Only the hash is stored in {@link #password}; this field is never persisted.
+     */
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String generatedPassword;
+
     @Column(name = "is_active", nullable = false)
     private boolean active = true;
 }
@@ -71,6 +71,18 @@ public interface TrainerService {
      */
     PagedResponse<Trainer> getTrainersNotAssignedToTrainee(String traineeUsername, int page, int size);
 
+    /**
+     * Gets a list of trainers that are not assigned to the specified trainee,
+     * optionally restricted to active trainers.
+     *
+     * @param traineeUsername the username of the trainee
+     * @param activeOnly      whether to get only active trainers
+     * @param page            the zero-based page index
+     * @param size            the number of trainers per page
+     * @return a paginated response containing the trainers not assigned to the trainee
+     */
+    PagedResponse<Trainer> getTrainersNotAssignedToTrainee(String traineeUsername, boolean activeOnly, int page, int size);
+
     /**
      * Gets a list of trainees assigned to the specified trainer.
      *
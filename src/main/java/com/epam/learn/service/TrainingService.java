@@ -2,6 +2,7 @@ package com.epam.learn.service;
 
 import com.epam.learn.model.PagedResponse;
 import com.epam.learn.model.training.Training;
+import com.epam.learn.model.training.TrainingView;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -53,7 +54,7 @@ public interface TrainingService {
      * @param trainingType    the type of training for filtering trainings (optional)
      * @param page            the zero-based page index
      * @param size            the number of trainings per page
-     * @return a paginated response containing the filtered trainings
+     * @return a paginated response containing the filtered trainings, with their trainer and training type loaded
      */
     PagedResponse<Training> getTraineeTrainings(String traineeUsername, LocalDate fromDate, LocalDate toDate,
                                               String trainerName, String trainingType, int page, int size);
@@ -67,8 +68,39 @@ public interface TrainingService {
      * @param traineeName     the name of the trainee for filtering trainings (optional)
      * @param page            the zero-based page index
      * @param size            the number of trainings per page
-     * @return a paginated response containing the filtered trainings
+     * @return a paginated response containing the filtered trainings, with their trainee and training type loaded
      */
     PagedResponse<Training> getTrainerTrainings(String trainerUsername, LocalDate fromDate, LocalDate toDate,
                                               String traineeName, int page, int size);
+
+    /**
+     * Gets a list of training views for a trainee based on specified criteria.
+     * Unlike {@link #getTraineeTrainings}, no entities are loaded.
+     *
+     * @param traineeUsername the username of the trainee
+     * @param fromDate        the start date for filtering trainings (optional)
+     * @param toDate          the end date for filtering trainings (optional)
+     * @param trainerName     the name of the trainer for filtering trainings (optional)
+     * @param trainingType    the type of training for filtering trainings (optional)
+     * @param page            the zero-based page index
+     * @param size            the number of trainings per page
+     * @return a paginated response containing the views of the filtered trainings, with the trainer as the counterpart
+     */
+    PagedResponse<TrainingView> getTraineeTrainingViews(String traineeUsername, LocalDate fromDate, LocalDate toDate,
+                                                      String trainerName, String trainingType, int page, int size);
+
+    /**
+     * Gets a list of training views for a trainer based on specified criteria.
+     * Unlike {@link #getTrainerTrainings}, no entities are loaded.
+     *
+     * @param trainerUsername the username of the trainer
+     * @param fromDate        the start date for filtering trainings (optional)
+     * @param toDate          the end date for filtering trainings (optional)
+     * @param traineeName     the name of the trainee for filtering trainings (optional)
+     * @param page            the zero-based page index
+     * @param size            the number of trainings per page
+     * @return a paginated response containing the views of the filtered trainings, with the trainee as the counterpart
+     */
+    PagedResponse<TrainingView> getTrainerTrainingViews(String trainerUsername, LocalDate fromDate, LocalDate toDate,
+                                                      String traineeName, int page, int size);
 }
@@ -3,12 +3,26 @@ package com.epam.learn.service.auth;
 import com.epam.learn.model.user.User;
 import com.epam.learn.service.UserService;
 
+import java.util.function.Consumer;
+
 /**
  * Service for authentication and user management operations.
  * This service provides functionality for user authentication, password management,
  * and user initialization.
  */
 public interface AuthService extends UserService {
+    /**
+     * Initializes the given new user (see {@link #initializeUser(User)}) and saves it with the given action,
+     * in a transaction of their own. If a concurrent registration took the allocated username first, the
+     * transaction is rolled back and a username is allocated again, a bounded number of times.
+     * Called within an existing transaction, the conflict cannot be retried and is rethrown.
+     *
+     * @param user the new user; must contain the first name and last name
+     * @param save the action that saves the user, e.g. together with the entities it references
+     * @param <T>  the type of the user
+     */
+    <T extends User> void register(T user, Consumer<T> save);
+
     /**
      * Checks if the user's name has changed and updates the username if necessary.
      *
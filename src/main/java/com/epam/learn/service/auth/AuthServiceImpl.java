@@ -1,18 +1,25 @@
 package com.epam.learn.service.auth;
 
-import com.epam.learn.dao.TraineeDao;
-import com.epam.learn.dao.TrainerDao;
+import com.epam.learn.dao.UserDao;
 import com.epam.learn.exception.UserInitializationException;
-import com.epam.learn.model.user.Trainee;
-import com.epam.learn.model.user.Trainer;
 import com.epam.learn.model.user.User;
 import com.epam.learn.util.validate.UserValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 /**
  * Implementation of the AuthService interface.
@@ -24,8 +31,19 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
-    private final TraineeDao traineeDao;
-    private final TrainerDao trainerDao;
+    private static final Pattern NUMERIC_SUFFIX = Pattern.compile("[1-9][0-9]*");
+
+    /**
+     * SQLSTATE of a unique constraint violation, reported by both PostgreSQL and H2.
+     */
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final UserDao<User> userDao;
+    private final PasswordHasher passwordHasher;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${auth.username.allocation.attempts:3}")
+    private int allocationAttempts = 3;
 
     @Override
     public String generateUsername(String firstName, String lastName) {
@@ -35,25 +53,25 @@ public class AuthServiceImpl implements AuthService {
         LOGGER.debug("generateUsername:: generating username for new user");
         String baseUsername = (firstName + "." + lastName).toLowerCase();
 
-        // Check if username exists
-        int counter = 0;
-        String username = baseUsername;
-        boolean usernameExists = true;
-
-        while (usernameExists) {
-            // Check if username exists in trainee or trainer
-            Optional<Trainee> trainee = traineeDao.findByUsername(username);
-            Optional<Trainer> trainer = trainerDao.findByUsername(username);
-
-            if (trainee.isEmpty() && trainer.isEmpty()) {
-                usernameExists = false;
-            } else {
-                counter++;
-                username = baseUsername + counter;
+        // Fetch all taken usernames of the form base, base1, base2, ... in one query
+        // and pick the lowest free suffix. The unique constraint on users.username
+        // rejects the loser if two concurrent registrations pick the same name; register retries it.
+        Set<Integer> takenSuffixes = new HashSet<>();
+        for (String existing : userDao.findUsernamesStartingWith(baseUsername)) {
+            String suffix = existing.substring(baseUsername.length());
+            if (suffix.isEmpty()) {
+                takenSuffixes.add(0);
+            } else if (NUMERIC_SUFFIX.matcher(suffix).matches() && suffix.length() < 10) {
+                takenSuffixes.add(Integer.parseInt(suffix));
             }
         }
 
-        return username;
+        int counter = 0;
+        while (takenSuffixes.contains(counter)) {
+            counter++;
+        }
+
+        return counter == 0 ? baseUsername : baseUsername + counter;
     }
 
     @Override
@@ -74,7 +92,33 @@ public class AuthServiceImpl implements AuthService {
         String generatedPassword = generateRandomPassword();
 
         user.setUsername(generatedUsername);
-        user.setPassword(generatedPassword);
+        user.setPassword(passwordHasher.hash(generatedPassword));
+        user.setGeneratedPassword(generatedPassword);
+    }
+
+    @Override
+    public <T extends User> void register(T user, Consumer<T> save) {
+        boolean joined = TransactionSynchronizationManager.isActualTransactionActive();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    initializeUser(user);
+                    save.accept(user);
+                });
+                return;
+            } catch (RuntimeException e) {
+                if (joined || attempt >= allocationAttempts || !isUniqueViolation(e)) {
+                    throw e;
+                }
+                LOGGER.info("register:: username '{}' was taken by a concurrent registration, allocating again (attempt {} of {})",
+                        user.getUsername(), attempt + 1, allocationAttempts);
+                // The rolled back insert may have assigned an ID that does not exist
+                user.setId(null);
+            }
+        }
     }
 
     @Override
@@ -84,17 +128,11 @@ public class AuthServiceImpl implements AuthService {
 
         LOGGER.debug("authenticate:: authenticating user with username: {}", username);
 
-        // Check trainee users with exact username
-        Optional<Trainee> trainee = traineeDao.findByUsername(username);
-        if (trainee.isPresent() && password.equals(trainee.get().getPassword())) {
-            LOGGER.debug("authenticate:: trainee authentication successful");
-            return true;
-        }
-
-        // Check trainer users with exact username
-        Optional<Trainer> trainer = trainerDao.findByUsername(username);
-        if (trainer.isPresent() && password.equals(trainer.get().getPassword())) {
-            LOGGER.debug("authenticate:: trainer authentication successful");
+        // Resolve the user of any type with a single query over the user hierarchy
+        Optional<User> user = userDao.findByUsername(username);
+        if (user.isPresent() && passwordHasher.matches(password, user.get().getPassword())) {
+            LOGGER.debug("authenticate:: {} authentication successful", user.get().getClass().getSimpleName());
+            upgradePasswordHash(user.get(), password);
             return true;
         }
 
@@ -111,7 +149,8 @@ public class AuthServiceImpl implements AuthService {
         LOGGER.debug("changePassword:: changing password for user with username: {}", username);
 
         // Authenticate user first
-        if (!authenticate(username, oldPassword)) {
+        Optional<User> user = userDao.findByUsername(username);
+        if (user.isEmpty() || !passwordHasher.matches(oldPassword, user.get().getPassword())) {
             LOGGER.debug("changePassword:: authentication failed for username: {}", username);
             return false;
         }
@@ -122,28 +161,11 @@ public class AuthServiceImpl implements AuthService {
             return false;
         }
 
-        // Update trainee password
-        Optional<Trainee> trainee = traineeDao.findByUsername(username);
-        if (trainee.isPresent()) {
-            Trainee traineeToUpdate = trainee.get();
-            traineeToUpdate.setPassword(newPassword);
-            traineeDao.update(traineeToUpdate.getId(), traineeToUpdate);
-            LOGGER.debug("changePassword:: trainee password updated successfully");
-            return true;
-        }
-
-        // Update trainer password
-        Optional<Trainer> trainer = trainerDao.findByUsername(username);
-        if (trainer.isPresent()) {
-            Trainer trainerToUpdate = trainer.get();
-            trainerToUpdate.setPassword(newPassword);
-            trainerDao.update(trainerToUpdate.getId(), trainerToUpdate);
-            LOGGER.debug("changePassword:: trainer password updated successfully");
-            return true;
-        }
-
-        LOGGER.debug("changePassword:: user not found with username: {}", username);
-        return false;
+        User userToUpdate = user.get();
+        userToUpdate.setPassword(passwordHasher.hash(newPassword));
+        userDao.update(userToUpdate.getId(), userToUpdate);
+        LOGGER.debug("changePassword:: {} password updated successfully", userToUpdate.getClass().getSimpleName());
+        return true;
     }
 
     @Override
@@ -151,6 +173,37 @@ public class AuthServiceImpl implements AuthService {
         return UserValidator.isPasswordStrong(password);
     }
 
+    /**
+     * Replaces a legacy plaintext password, or a hash with an outdated cost, with a new hash
+     * after the user has been authenticated with it.
+     *
+     * @param user     the authenticated user
+     * @param password the plaintext password the user was authenticated with
+     */
+    private void upgradePasswordHash(User user, String password) {
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            LOGGER.info("upgradePasswordHash:: rehashing password of user '{}'", user.getUsername());
+            user.setPassword(passwordHasher.hash(password));
+            userDao.update(user.getId(), user);
+        }
+    }
+
+    /**
+     * Checks whether the given exception was caused by a unique constraint violation. The only unique column
+     * written by the registration of a new user, besides its generated ID, is the username.
+     *
+     * @param e the exception
+     * @return true if one of the causes is a unique constraint violation
+     */
+    private static boolean isUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Checks if the user's name has changed and updates the username if necessary.
      *
@@ -196,15 +249,8 @@ public class AuthServiceImpl implements AuthService {
             String transposedUsername = new String(chars);
 
             // Check if this transposed username exists
-            Optional<Trainee> trainee = traineeDao.findByUsername(transposedUsername);
-            if (trainee.isPresent()) {
-                LOGGER.debug("findSimilarUsername:: found similar trainee username: {}", transposedUsername);
-                return transposedUsername;
-            }
-
-            Optional<Trainer> trainer = trainerDao.findByUsername(transposedUsername);
-            if (trainer.isPresent()) {
-                LOGGER.debug("findSimilarUsername:: found similar trainer username: {}", transposedUsername);
+            if (userDao.findByUsername(transposedUsername).isPresent()) {
+                LOGGER.debug("findSimilarUsername:: found similar username: {}", transposedUsername);
                 return transposedUsername;
             }
         }
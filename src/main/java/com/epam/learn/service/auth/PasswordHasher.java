@@ -0,0 +1,225 @@
+package com.epam.learn.service.auth;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Salted, adaptive password hashing based on PBKDF2 with HMAC-SHA256.
+ * Hashes are stored as {@code pbkdf2$<iterations>$<salt>$<hash>}, so the cost can be raised
+ * through {@code auth.password.hash.iterations} without invalidating existing hashes;
+ * {@link #needsRehash(String)} tells callers when a stored hash should be upgraded.
+ * <p>
+ * Because verifying a hash is deliberately expensive, successful verifications are remembered
+ * for a short time in a bounded cache keyed by a SHA-256 digest of the stored hash and the
+ * presented password. The key changes with every password change (new salt), and the cache
+ * never holds the password itself.
+ * <p>
+ * Legacy plaintext passwords are accepted until {@code auth.password.legacy.accepted-until}, if set, so that
+ * they are rehashed at the next login; every such login is logged. Afterwards they are rejected and the
+ * users have to get a new password.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2";
+    private static final String SEPARATOR = "$";
+    private static final int SALT_LENGTH = 16;
+    private static final int KEY_LENGTH = 256;
+
+    private final SecureRandom random = new SecureRandom();
+    private final int iterations;
+    private final long cacheTtlMillis;
+    private final Map<String, Long> verificationCache;
+    private final LocalDate legacyAcceptedUntil;
+    private final Clock clock;
+
+    @Autowired
+    public PasswordHasher(@Value("${auth.password.hash.iterations:310000}") int iterations,
+                          @Value("${auth.password.verification.cache.size:1000}") int cacheSize,
+                          @Value("${auth.password.verification.cache.ttl:300}") long cacheTtlSeconds,
+                          @Value("${auth.password.legacy.accepted-until:}") String legacyAcceptedUntil) {
+        this(iterations, cacheSize, cacheTtlSeconds,
+                legacyAcceptedUntil.isBlank() ? null : LocalDate.parse(legacyAcceptedUntil.trim()),
+                Clock.systemDefaultZone());
+    }
+
+    PasswordHasher(int iterations, int cacheSize, long cacheTtlSeconds, LocalDate legacyAcceptedUntil, Clock clock) {
+        this.iterations = iterations;
+        this.legacyAcceptedUntil = legacyAcceptedUntil;
+        this.clock = clock;
+        this.cacheTtlMillis = cacheTtlSeconds * 1000;
+        this.verificationCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Hashes the given password with a new random salt and the configured number of iterations.
+     *
+     * @param password the plaintext password
+     * @return the encoded hash
+     */
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_LENGTH];
+        random.nextBytes(salt);
+        byte[] hash = pbkdf2(password, salt, iterations);
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        return PREFIX + SEPARATOR + iterations + SEPARATOR + encoder.encodeToString(salt) + SEPARATOR + encoder.encodeToString(hash);
+    }
+
+    /**
+     * Checks whether the given password matches the stored value.
+     * Values that are not in the hash format are legacy plaintext passwords and are compared directly,
+     * unless the cut-off date for them has passed. A malformed hash matches no password.
+     *
+     * @param password the plaintext password presented by the user
+     * @param stored   the stored hash or legacy plaintext password
+     * @return true if the password matches
+     */
+    public boolean matches(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            return matchesLegacy(password, stored);
+        }
+
+        String key = credentialDigest(password, stored);
+        if (isCachedVerification(key)) {
+            LOGGER.debug("Password verified from cache");
+            return true;
+        }
+
+        String[] parts = stored.split("\\" + SEPARATOR);
+        if (parts.length != 4) {
+            LOGGER.warn("Rejected a password against a malformed hash");
+            return false;
+        }
+        byte[] expected;
+        byte[] actual;
+        try {
+            Base64.Decoder decoder = Base64.getDecoder();
+            expected = decoder.decode(parts[3]);
+            actual = pbkdf2(password, decoder.decode(parts[2]), Integer.parseInt(parts[1]));
+        } catch (IllegalArgumentException e) {
+            // Not a number of iterations, not Base64, or an empty salt
+            LOGGER.warn("Rejected a password against a malformed hash: {}", e.getMessage());
+            return false;
+        }
+
+        boolean matches = MessageDigest.isEqual(expected, actual);
+        if (matches) {
+            cacheVerification(key);
+        }
+        return matches;
+    }
+
+    /**
+     * Checks whether the stored value should be replaced with a new hash, either because it is
+     * a legacy plaintext password or because it was hashed with a different number of iterations.
+     *
+     * @param stored the stored hash or legacy plaintext password
+     * @return true if the password should be rehashed after the next successful verification
+     */
+    public boolean needsRehash(String stored) {
+        return !isHashed(stored) || !stored.startsWith(PREFIX + SEPARATOR + iterations + SEPARATOR);
+    }
+
+    /**
+     * Checks whether the stored value is in the hash format produced by {@link #hash(String)}.
+     *
+     * @param stored the stored value
+     * @return true if the value is a hash
+     */
+    public boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX + SEPARATOR);
+    }
+
+    private boolean matchesLegacy(String password, String stored) {
+        if (legacyAcceptedUntil != null && LocalDate.now(clock).isAfter(legacyAcceptedUntil)) {
+            LOGGER.warn("Rejected a legacy plaintext password: they were accepted until {}", legacyAcceptedUntil);
+            return false;
+        }
+        boolean matches = MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        if (matches) {
+            LOGGER.warn("Accepted a legacy plaintext password{}; it is replaced by a hash after this login",
+                    legacyAcceptedUntil == null ? "" : " (accepted until " + legacyAcceptedUntil + ")");
+        }
+        return matches;
+    }
+
+    /**
+     * Checks whether a successful verification of the password against the stored hash is cached and not expired.
+     *
+     * @param password the plaintext password
+     * @param stored   the stored hash
+     * @return true if the next {@link #matches(String, String)} is answered from the cache
+     */
+    boolean isVerificationCached(String password, String stored) {
+        return isCachedVerification(credentialDigest(password, stored));
+    }
+
+    private boolean isCachedVerification(String key) {
+        synchronized (verificationCache) {
+            Long expiresAt = verificationCache.get(key);
+            if (expiresAt == null) {
+                return false;
+            }
+            if (expiresAt < clock.millis()) {
+                verificationCache.remove(key);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private void cacheVerification(String key) {
+        synchronized (verificationCache) {
+            verificationCache.put(key, clock.millis() + cacheTtlMillis);
+        }
+    }
+
+    private static String credentialDigest(String password, String stored) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(stored.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_LENGTH);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to hash password", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -14,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -29,11 +30,10 @@ public class TraineeServiceImpl implements TraineeService {
     private final AuthService authService;
 
     @Override
-    @org.springframework.transaction.annotation.Transactional
     public void create(Trainee trainee) {
         LOGGER.info("create:: creating trainee");
-        authService.initializeUser(trainee);
-        traineeDao.save(trainee);
+        // Initializes and saves the trainee in a transaction that is retried if the username is taken concurrently
+        authService.register(trainee, traineeDao::save);
     }
 
     @Override
@@ -55,6 +55,7 @@ public class TraineeServiceImpl implements TraineeService {
     }
 
     @Override
+    @org.springframework.transaction.annotation.Transactional
     public void update(UUID id, Trainee updatedTrainee) {
         LOGGER.info("update:: updating trainee with id: '{}'", id);
         Trainee existingTrainee = traineeDao.findById(id)
@@ -68,14 +69,13 @@ public class TraineeServiceImpl implements TraineeService {
     }
 
     @Override
+    @org.springframework.transaction.annotation.Transactional
     public void updateTraineeStatus(String username, boolean status) {
         LOGGER.info("updateTraineeStatus:: updating trainee status for username: '{}' to: {}", username, status);
-        Trainee trainee = getTraineeByUsername(username);
-        if (trainee == null) {
+        // Single UPDATE by username instead of loading, merging and re-reading the trainee
+        if (traineeDao.updateActiveByUsernames(Collections.singletonList(username), status) == 0) {
             throw new IllegalArgumentException("Trainee with username " + username + " not found");
         }
-        trainee.setActive(status);
-        update(trainee.getId(), trainee);
     }
 
 
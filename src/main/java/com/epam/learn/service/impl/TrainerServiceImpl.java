@@ -1,5 +1,6 @@
 package com.epam.learn.service.impl;
 
+import com.epam.learn.dao.TraineeDao;
 import com.epam.learn.dao.TrainerDao;
 import com.epam.learn.exception.EntityNotFoundException;
 import com.epam.learn.model.EntityType;
@@ -16,8 +17,7 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
 import java.util.UUID;
 
 @Slf4j
@@ -25,13 +25,16 @@ import java.util.UUID;
 public class TrainerServiceImpl implements TrainerService {
 
     private final TrainerDao trainerDao;
+    private final TraineeDao traineeDao;
     private TraineeService traineeService;
     private final AuthService authService;
     private final TrainingTypeService trainingTypeService;
 
     @Autowired
-    public TrainerServiceImpl(TrainerDao trainerDao, AuthService authService, TrainingTypeService trainingTypeService) {
+    public TrainerServiceImpl(TrainerDao trainerDao, TraineeDao traineeDao, AuthService authService,
+                              TrainingTypeService trainingTypeService) {
         this.trainerDao = trainerDao;
+        this.traineeDao = traineeDao;
         this.authService = authService;
         this.trainingTypeService = trainingTypeService;
     }
@@ -43,7 +46,6 @@ public class TrainerServiceImpl implements TrainerService {
     }
 
     @Override
-    @Transactional
     public void create(Trainer trainer) {
         LOGGER.info("create:: creating trainer");
 
@@ -52,13 +54,13 @@ public class TrainerServiceImpl implements TrainerService {
             throw new IllegalArgumentException("Trainer specialization is missing or has no name");
         }
 
-        // Find or create the training type
+        // Find or create the training type, initialize user and save, in a transaction that is retried
+        // if the username is taken concurrently
         String specializationName = trainer.getSpecialization().getName();
-        trainer.setSpecialization(trainingTypeService.findOrCreate(specializationName));
-
-        // Initialize user and save
-        authService.initializeUser(trainer);
-        trainerDao.save(trainer);
+        authService.register(trainer, registered -> {
+            registered.setSpecialization(trainingTypeService.findOrCreate(specializationName));
+            trainerDao.save(registered);
+        });
     }
 
     @Override
@@ -80,6 +82,7 @@ public class TrainerServiceImpl implements TrainerService {
     }
 
     @Override
+    @Transactional
     public void update(UUID id, Trainer updatedTrainer) {
         LOGGER.info("update:: updating trainer with id: '{}'", id);
         Trainer existingTrainer = trainerDao.findById(id)
@@ -94,20 +97,26 @@ public class TrainerServiceImpl implements TrainerService {
 
 
     @Override
+    @Transactional
     public void updateTrainerStatus(String username, boolean status) {
         LOGGER.info("updateTrainerStatus:: updating trainer status for username: '{}' to: {}", username, status);
-        Trainer trainer = getTrainerByUsername(username);
-        if (trainer == null) {
+        // Single UPDATE by username instead of loading, merging and re-reading the trainer
+        if (trainerDao.updateActiveByUsernames(Collections.singletonList(username), status) == 0) {
             throw new IllegalArgumentException("Trainer with username " + username + " not found");
         }
-        trainer.setActive(status);
-        update(trainer.getId(), trainer);
     }
 
 
     @Override
     public PagedResponse<Trainer> getTrainersNotAssignedToTrainee(String traineeUsername, int page, int size) {
-        LOGGER.info("getTrainersNotAssignedToTrainee:: getting trainers not assigned to trainee: '{}'", traineeUsername);
+        return getTrainersNotAssignedToTrainee(traineeUsername, false, page, size);
+    }
+
+    @Override
+    public PagedResponse<Trainer> getTrainersNotAssignedToTrainee(String traineeUsername, boolean activeOnly,
+                                                                  int page, int size) {
+        LOGGER.info("getTrainersNotAssignedToTrainee:: getting {}trainers not assigned to trainee: '{}'",
+                activeOnly ? "active " : "", traineeUsername);
 
         // Get trainee by username using the TraineeService
         Trainee trainee = traineeService.getTraineeByUsername(traineeUsername);
@@ -116,7 +125,7 @@ public class TrainerServiceImpl implements TrainerService {
         }
 
         // Get trainers not assigned to the trainee
-        return trainerDao.findNotAssignedToTrainee(trainee.getId(), page, size);
+        return trainerDao.findNotAssignedToTrainee(trainee.getId(), activeOnly, page, size);
     }
 
     @Override
@@ -129,39 +138,6 @@ public class TrainerServiceImpl implements TrainerService {
             throw new IllegalArgumentException("Trainer with username " + trainerUsername + " not found");
         }
 
-        // Convert the Set<Trainee> to a List<Trainee> for pagination
-        List<Trainee> traineesList = new ArrayList<>(trainer.getTrainees());
-
-        // Apply pagination and return the result
-        return createPagedResponse(traineesList, page, size);
-    }
-
-    /**
-     * Creates a paged response from a list of items.
-     * This is a helper method to handle pagination logic.
-     *
-     * @param items the list of items to paginate
-     * @param page the zero-based page index
-     * @param size the number of items per page
-     * @param <T> the type of items in the list
-     * @return a paged response containing the requested page of items
-     */
-    private <T> PagedResponse<T> createPagedResponse(List<T> items, int page, int size) {
-        // Calculate total elements and pages
-        int totalElements = items.size();
-        int totalPages = size > 0 ? (int) Math.ceil((double) totalElements / size) : 0;
-
-        // Apply pagination
-        int fromIndex = page * size;
-        int toIndex = Math.min(fromIndex + size, totalElements);
-
-        // Handle case where fromIndex is out of bounds
-        if (fromIndex >= totalElements) {
-            return new PagedResponse<>(new ArrayList<>(), page, size, totalElements, totalPages);
-        }
-
-        List<T> pagedItems = items.subList(fromIndex, toIndex);
-
-        return new PagedResponse<>(pagedItems, page, size, totalElements, totalPages);
+        return traineeDao.findByTrainerId(trainer.getId(), page, size);
     }
 }
@@ -1,10 +1,12 @@
 package com.epam.learn.service.impl;
 
 import com.epam.learn.dao.TrainingDao;
+import com.epam.learn.dao.TrainingFetchPlan;
 import com.epam.learn.exception.EntityNotFoundException;
 import com.epam.learn.model.EntityType;
 import com.epam.learn.model.PagedResponse;
 import com.epam.learn.model.training.Training;
+import com.epam.learn.model.training.TrainingView;
 import com.epam.learn.model.user.Trainee;
 import com.epam.learn.model.user.Trainer;
 import com.epam.learn.service.TraineeService;
@@ -76,6 +78,7 @@ public class TrainingServiceImpl implements TrainingService {
     }
 
     @Override
+    @Transactional
     public void update(UUID id, Training updatedTraining) {
         LOGGER.info("update:: updating training with id: '{}'", id);
         Training existingTraining = trainingDao.findById(id)
@@ -86,6 +89,7 @@ public class TrainingServiceImpl implements TrainingService {
     }
 
     @Override
+    @Transactional
     public void delete(UUID id) {
         LOGGER.info("delete:: deleting training with id: '{}'", id);
         trainingDao.findById(id)
@@ -105,7 +109,8 @@ public class TrainingServiceImpl implements TrainingService {
         }
 
         // Use the DAO to get trainings by criteria
-        return trainingDao.findByTraineeCriteria(trainee.getId(), fromDate, toDate, trainerName, trainingType, page, size);
+        return trainingDao.findByTraineeCriteria(trainee.getId(), fromDate, toDate, trainerName, trainingType, page, size,
+                TrainingFetchPlan.TRAINER_AND_TYPE);
     }
 
     @Override
@@ -120,6 +125,33 @@ public class TrainingServiceImpl implements TrainingService {
         }
 
         // Use the DAO to get trainings by criteria
-        return trainingDao.findByTrainerCriteria(trainer.getId(), fromDate, toDate, traineeName, page, size);
+        return trainingDao.findByTrainerCriteria(trainer.getId(), fromDate, toDate, traineeName, page, size,
+                TrainingFetchPlan.TRAINEE_AND_TYPE);
+    }
+
+    @Override
+    public PagedResponse<TrainingView> getTraineeTrainingViews(String traineeUsername, LocalDate fromDate, LocalDate toDate,
+                                                             String trainerName, String trainingType, int page, int size) {
+        LOGGER.info("getTraineeTrainingViews:: getting training views for trainee: '{}' with criteria", traineeUsername);
+
+        Trainee trainee = traineeService.getTraineeByUsername(traineeUsername);
+        if (trainee == null) {
+            throw new IllegalArgumentException("Trainee with username " + traineeUsername + " not found");
+        }
+
+        return trainingDao.findViewsByTraineeCriteria(trainee.getId(), fromDate, toDate, trainerName, trainingType, page, size);
+    }
+
+    @Override
+    public PagedResponse<TrainingView> getTrainerTrainingViews(String trainerUsername, LocalDate fromDate, LocalDate toDate,
+                                                             String traineeName, int page, int size) {
+        LOGGER.info("getTrainerTrainingViews:: getting training views for trainer: '{}' with criteria", trainerUsername);
+
+        Trainer trainer = trainerService.getTrainerByUsername(trainerUsername);
+        if (trainer == null) {
+            throw new IllegalArgumentException("Trainer with username " + trainerUsername + " not found");
+        }
+
+        return trainingDao.findViewsByTrainerCriteria(trainer.getId(), fromDate, toDate, traineeName, page, size);
     }
 }
@@ -0,0 +1,108 @@
+package com.epam.learn.util.cursor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Utility class for encoding and decoding the continuation tokens used by keyset pagination.
+ * A token is the URL-safe Base64 encoding of the sort key of the last element of a page,
+ * so callers treat it as an opaque string.
+ */
+public final class CursorCodec {
+
+    private static final String TRAINING_PREFIX = "t:";
+    private static final String USERNAME_PREFIX = "u:";
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Sort key of a training: its date and, to break ties between trainings at the same time, its ID.
+     *
+     * @param trainingDate the date of the training
+     * @param id           the ID of the training
+     */
+    public record TrainingCursor(LocalDateTime trainingDate, UUID id) {
+    }
+
+    /**
+     * Encodes the sort key of a training into a continuation token.
+     *
+     * @param trainingDate the date of the last training of the page
+     * @param id           the ID of the last training of the page
+     * @return the continuation token
+     */
+    public static String encodeTrainingCursor(LocalDateTime trainingDate, UUID id) {
+        return encode(TRAINING_PREFIX + trainingDate + SEPARATOR + id);
+    }
+
+    /**
+     * Decodes a continuation token created by {@link #encodeTrainingCursor(LocalDateTime, UUID)}.
+     *
+     * @param cursor the continuation token; can be null for the first page
+     * @return the decoded sort key, or null if the cursor is null or empty
+     * @throws IllegalArgumentException if the cursor is not a valid training cursor
+     */
+    public static TrainingCursor decodeTrainingCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String value = decode(cursor, TRAINING_PREFIX);
+        int separator = value.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new TrainingCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Encodes a username sort key into a continuation token.
+     *
+     * @param username the username of the last user of the page
+     * @return the continuation token
+     */
+    public static String encodeUsernameCursor(String username) {
+        return encode(USERNAME_PREFIX + username);
+    }
+
+    /**
+     * Decodes a continuation token created by {@link #encodeUsernameCursor(String)}.
+     *
+     * @param cursor the continuation token; can be null for the first page
+     * @return the decoded username, or null if the cursor is null or empty
+     * @throws IllegalArgumentException if the cursor is not a valid username cursor
+     */
+    public static String decodeUsernameCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        return decode(cursor, USERNAME_PREFIX);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor, String prefix) {
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        if (!value.startsWith(prefix)) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return value.substring(prefix.length());
+    }
+}
@@ -89,6 +89,18 @@ public class DaoValidator {
         }
     }
 
+    /**
+     * Validates the page size of a keyset-paginated query.
+     *
+     * @param size the page size
+     * @throws IllegalArgumentException if size is not positive
+     */
+    public static void validatePageSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+    }
+
     /**
      * Validates that the training type is not null or empty.
      *
@@ -4,6 +4,8 @@ import com.epam.learn.exception.InvalidUserDataException;
 import com.epam.learn.model.user.User;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.regex.Pattern;
+
 /**
  * Utility class for validating user data.
  * This class provides methods for validating user input, such as names and passwords.
@@ -12,8 +14,8 @@ import lombok.extern.slf4j.Slf4j;
 public class UserValidator {
 
     // Regular expression for password validation
-    private static final String PASSWORD_PATTERN =
-            "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=!])(?=\\S+$).{8,}$";
+    private static final Pattern PASSWORD_PATTERN =
+            Pattern.compile("^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=!])(?=\\S+$).{8,}$");
 
     /**
      * Validates that the first name is not null or empty.
@@ -92,6 +94,6 @@ public class UserValidator {
             return false;
         }
 
-        return password.matches(PASSWORD_PATTERN);
+        return PASSWORD_PATTERN.matcher(password).matches();
     }
 }
\ No newline at end of file
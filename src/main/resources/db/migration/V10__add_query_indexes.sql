@@ -0,0 +1,23 @@
+-- Secondary indexes matched to the criteria queries of the DAOs
+
+-- TrainingDaoImpl: trainings of a trainee or trainer filtered by date range and ordered by (training_date, id)
+CREATE INDEX idx_trainings_trainee_date ON trainings (trainee_id, training_date, id);
+CREATE INDEX idx_trainings_trainer_date ON trainings (trainer_id, training_date, id);
+
+-- TrainingDaoImpl.findByDateRange
+CREATE INDEX idx_trainings_training_date ON trainings (training_date);
+
+-- TrainingDaoImpl.findByType and the foreign key to training_types
+CREATE INDEX idx_trainings_training_type ON trainings (training_type_id);
+
+-- AbstractUserDao.findByFirstNameAndLastName and the findByFirstName finders of the trainee and trainer DAOs
+CREATE INDEX idx_users_first_name_last_name ON users (first_name, last_name);
+
+-- findByLastName of the trainee and trainer DAOs
+CREATE INDEX idx_users_last_name ON users (last_name);
+
+-- findActive of the trainee and trainer DAOs
+CREATE INDEX idx_users_is_active ON users (is_active);
+
+-- TrainingTypeDaoImpl.findByNameIgnoreCase
+CREATE INDEX idx_training_types_lower_name ON training_types (lower(name));
@@ -0,0 +1,2 @@
+-- TraineeDaoImpl.findByTrainerId: trainees assigned to a trainer (the primary key leads with trainee_id)
+CREATE INDEX idx_trainee_trainer_trainer ON trainee_trainer (trainer_id, trainee_id);
@@ -0,0 +1,3 @@
+-- Index for prefix searches on usernames (username LIKE 'base%') used when allocating a new username.
+-- The unique index created by V3 only supports LIKE under the C collation, varchar_pattern_ops works with any collation.
+CREATE INDEX idx_users_username_pattern ON users (username varchar_pattern_ops);
@@ -0,0 +1,28 @@
+package com.epam.learn;
+
+import com.epam.learn.config.AppConfig;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a test class against the application context of the h2 profile, seeded from data.json.
+ * All test classes share the same properties, so they share one cached context and one in-memory database;
+ * tests create the rows they rely on with names of their own.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringJUnitConfig(AppConfig.class)
+@TestPropertySource(properties = {
+        "spring.profiles.active=h2",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "auth.password.hash.iterations=1000",
+        "auth.username.allocation.attempts=10"
+})
+public @interface H2IntegrationTest {
+}
@@ -0,0 +1,76 @@
+package com.epam.learn.benchmark;
+
+import com.epam.learn.config.AppConfig;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Shared setup of the standalone benchmarks: the application context of the h2 profile and latency sampling.
+ * The benchmarks are plain main classes, not tests, so they are compiled with the tests but not run by the build;
+ * start them with e.g.
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.epam.learn.benchmark.<Name>}.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Starts the application context with the in-memory H2 database, seeded from data.json.
+     * System properties given on the command line override the defaults set here.
+     *
+     * @return the refreshed context
+     */
+    static AnnotationConfigApplicationContext startContext() {
+        defaultProperty("spring.profiles.active", "h2");
+        defaultProperty("spring.jpa.show-sql", "false");
+        defaultProperty("auth.password.hash.iterations", "1000");
+        return new AnnotationConfigApplicationContext(AppConfig.class);
+    }
+
+    /**
+     * Runs the given operation {@code warmup} times, then samples it {@code samples} times.
+     *
+     * @param warmup    the number of unmeasured runs
+     * @param samples   the number of measured runs
+     * @param operation the operation; returns a value that is consumed so the run cannot be optimized away
+     * @return the latencies in nanoseconds, sorted
+     */
+    static long[] sample(int warmup, int samples, LongSupplier operation) {
+        long sink = 0;
+        for (int i = 0; i < warmup; i++) {
+            sink += operation.getAsLong();
+        }
+        long[] latencies = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            sink += operation.getAsLong();
+            latencies[i] = System.nanoTime() - start;
+        }
+        if (sink == Long.MIN_VALUE) {
+            System.out.println();
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    /**
+     * Formats the median and the 95th percentile of sorted latencies in microseconds.
+     *
+     * @param latencies the latencies in nanoseconds, sorted
+     * @return the formatted percentiles
+     */
+    static String percentiles(long[] latencies) {
+        return String.format("p50 %8.1f us  p95 %8.1f us",
+                latencies[latencies.length / 2] / 1000.0,
+                latencies[(int) (latencies.length * 0.95)] / 1000.0);
+    }
+
+    private static void defaultProperty(String name, String value) {
+        if (System.getProperty(name) == null) {
+            System.setProperty(name, value);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.epam.learn.benchmark;
+
+import com.epam.learn.config.storage.JsonDataImporter;
+import com.epam.learn.config.storage.TestDataFile;
+import com.epam.learn.dao.bulk.BulkLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Throughput of {@link JsonDataImporter} on a generated file of about 265k entities, with the writers, queue
+ * capacity and chunk size of the application properties, against the target of 50k entities per second.
+ * The file is imported once with every array after the arrays it references, as in data.json, and once in the
+ * reverse order, where every training and assignment is held back until the entities it references are written.
+ * Each import writes new rows under a prefix of its own.
+ */
+public class ImportThroughputBenchmark {
+
+    private static final long TARGET_ENTITIES_PER_SECOND = 50_000;
+    private static final int ROUNDS = 2;
+
+    public static void main(String[] args) throws IOException {
+        try (AnnotationConfigApplicationContext context = BenchmarkSupport.startContext()) {
+            Environment environment = context.getEnvironment();
+            BulkLoader bulkLoader = context.getBean(BulkLoader.class);
+            int writers = environment.getProperty("storage.import.writers", Integer.class, 4);
+            int queueCapacity = environment.getProperty("storage.import.queue-capacity", Integer.class, 4);
+            ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+            System.out.printf("writers %d  queue capacity %d  chunk size %d  processors %d%n", writers,
+                    queueCapacity, bulkLoader.getChunkSize(), Runtime.getRuntime().availableProcessors());
+
+            // The first round warms up the parser, the statements and the pools; only the last one is representative
+            for (int round = 1; round <= ROUNDS; round++) {
+                System.out.printf("round %d%n", round);
+                for (List<String> order : List.of(TestDataFile.DEPENDENCY_ORDER, TestDataFile.REVERSE_ORDER)) {
+                    TestDataFile file = new TestDataFile("bench" + round + "." + order.get(0), 50, 20_000, 5_000,
+                            200_000, 40_000);
+                    measure(new JsonDataImporter(objectMapper, bulkLoader, writers, queueCapacity), file, order);
+                }
+            }
+        }
+    }
+
+    private static void measure(JsonDataImporter importer, TestDataFile file, List<String> order) throws IOException {
+        Path path = Files.createTempFile("import-benchmark", ".json");
+        try {
+            try (OutputStream out = Files.newOutputStream(path)) {
+                file.write(out, order);
+            }
+            long start = System.nanoTime();
+            try (InputStream in = Files.newInputStream(path)) {
+                importer.importFrom(in);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long perSecond = Math.round(file.elements() / seconds);
+            System.out.printf("import %-34s %7d entities  %6.2f s  %7d entities/s  (%s target %d/s)%n",
+                    order.get(0) + " first", file.elements(), seconds, perSecond,
+                    perSecond >= TARGET_ENTITIES_PER_SECOND ? "meets" : "below", TARGET_ENTITIES_PER_SECOND);
+            importer.metrics().forEach((stage, metrics) -> System.out.printf(
+                    "import   %-8s %7d items  %8d items/s  busy %6d ms  waited %6d ms%n", stage, metrics.items(),
+                    Math.round(metrics.itemsPerSecond()), metrics.busyMillis(), metrics.waitMillis()));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.epam.learn.benchmark;
+
+import com.epam.learn.service.auth.PasswordHasher;
+
+/**
+ * Cost of {@link PasswordHasher} per number of iterations: hashing a new password, a cold verification
+ * (a login after the cache entry expired or was evicted) and a verification served by the cache of
+ * recent successful verifications (a repeated login). Runs without an application context.
+ */
+public class PasswordHashingBenchmark {
+
+    private static final int[] ITERATIONS = {10_000, 100_000, 310_000, 600_000};
+    private static final int WARMUP = 5;
+    private static final int SAMPLES = 20;
+    private static final int CACHED_SAMPLES = 10_000;
+
+    public static void main(String[] args) {
+        String password = "Benchmark1!";
+        for (int iterations : ITERATIONS) {
+            // A cache of no entries evicts every verification right away, so every verification is cold
+            PasswordHasher uncached = new PasswordHasher(iterations, 0, 300, "");
+            PasswordHasher cached = new PasswordHasher(iterations, 1000, 300, "");
+            String hash = uncached.hash(password);
+            cached.matches(password, hash);
+
+            long[] hashing = BenchmarkSupport.sample(WARMUP, SAMPLES, () -> uncached.hash(password).length());
+            long[] cold = BenchmarkSupport.sample(WARMUP, SAMPLES, () -> uncached.matches(password, hash) ? 1 : 0);
+            long[] warm = BenchmarkSupport.sample(CACHED_SAMPLES, CACHED_SAMPLES, () -> cached.matches(password, hash) ? 1 : 0);
+
+            System.out.printf("iterations %7d  hash: %s  cold verify: %s  cached verify: %s%n", iterations,
+                    BenchmarkSupport.percentiles(hashing), BenchmarkSupport.percentiles(cold),
+                    BenchmarkSupport.percentiles(warm));
+        }
+    }
+}
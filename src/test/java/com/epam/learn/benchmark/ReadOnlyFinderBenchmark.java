@@ -0,0 +1,76 @@
+package com.epam.learn.benchmark;
+
+import com.epam.learn.config.storage.JsonDataImporter;
+import com.epam.learn.config.storage.TestDataFile;
+import com.epam.learn.dao.TrainingDao;
+import com.epam.learn.dao.TrainingFetchPlan;
+import com.epam.learn.dao.bulk.BulkLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency and allocation of {@link TrainingDao#findByTraineeCriteria} in a read-only transaction, where the finder
+ * runs on the read-only pool and Hibernate keeps no dirty-checking snapshots and does not flush, next to the same
+ * finder joining a read-write transaction. Each search loads a page of 100 trainings with their trainees, trainers
+ * and training types; the measured trainee has 1k trainings with 100 trainers.
+ */
+public class ReadOnlyFinderBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int ROUNDS = 3;
+    private static final int WARMUP = 200;
+    private static final int SAMPLES = 1_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws IOException {
+        try (AnnotationConfigApplicationContext context = BenchmarkSupport.startContext()) {
+            TrainingDao trainingDao = context.getBean(TrainingDao.class);
+            PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+            UUID traineeId = seed(context);
+
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+            LongSupplier search = () -> trainingDao.findByTraineeCriteria(traineeId, null, null, null, null, 3,
+                    PAGE_SIZE, TrainingFetchPlan.ALL).content().size();
+
+            // The first round warms up both variants; only the later ones are representative
+            for (int round = 1; round <= ROUNDS; round++) {
+                System.out.printf("round %d%n", round);
+                measure("read-only", () -> readOnly.execute(status -> search.getAsLong()));
+                measure("read-write", () -> readWrite.execute(status -> search.getAsLong()));
+            }
+        }
+    }
+
+    private static void measure(String name, LongSupplier search) {
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(thread);
+        long[] latencies = BenchmarkSupport.sample(WARMUP, SAMPLES, search);
+        long allocated = THREADS.getThreadAllocatedBytes(thread) - allocatedBefore;
+        System.out.printf("search %-10s %s  %8.1f KB allocated per search%n", name,
+                BenchmarkSupport.percentiles(latencies), allocated / 1024.0 / (WARMUP + SAMPLES));
+    }
+
+    /**
+     * Imports the measured trainee, its trainers and its trainings.
+     *
+     * @return the ID of the measured trainee
+     */
+    private static UUID seed(AnnotationConfigApplicationContext context) throws IOException {
+        TestDataFile file = new TestDataFile("bench.readonly", 1, 1, 100, 1_000, 0);
+        new JsonDataImporter(new ObjectMapper().findAndRegisterModules(), context.getBean(BulkLoader.class), 1, 4)
+                .importFrom(new ByteArrayInputStream(file.toBytes(TestDataFile.DEPENDENCY_ORDER)));
+        return file.id(TestDataFile.TRAINEES, 0);
+    }
+}
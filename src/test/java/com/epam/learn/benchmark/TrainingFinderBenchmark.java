@@ -0,0 +1,121 @@
+package com.epam.learn.benchmark;
+
+import com.epam.learn.dao.TraineeDao;
+import com.epam.learn.dao.TrainerDao;
+import com.epam.learn.dao.TrainingDao;
+import com.epam.learn.dao.TrainingFetchPlan;
+import com.epam.learn.model.training.Training;
+import com.epam.learn.model.training.TrainingType;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.model.user.Trainer;
+import com.epam.learn.model.user.User;
+import com.epam.learn.service.TrainingTypeService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency of {@link TrainingDao#findByTraineeCriteria} with a fetch plan, whose associations are fetch joins of the
+ * query template, next to the former query that applied the entity graph of the plan as a hint. Hibernate does not
+ * cache the translation of a query with an applied graph, so the former query is translated to SQL on every execution.
+ * The measured trainee has 1k trainings with 100 trainers.
+ */
+public class TrainingFinderBenchmark {
+
+    private static final int TRAINERS = 100;
+    private static final int TRAININGS = 1_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int ROUNDS = 2;
+    private static final int WARMUP = 200;
+    private static final int SAMPLES = 1_000;
+
+    private static final String FORMER_COUNT_QUERY = "select count(t) from Training t where t.trainee.id = :traineeId";
+
+    private static final String FORMER_SELECT_QUERY = "select t from Training t where t.trainee.id = :traineeId"
+            + " order by t.trainingDate, t.id";
+
+    public static void main(String[] args) {
+        try (AnnotationConfigApplicationContext context = BenchmarkSupport.startContext()) {
+            TrainingDao trainingDao = context.getBean(TrainingDao.class);
+            EntityManager entityManager = context.getBean(EntityManager.class);
+            UUID traineeId = seed(context);
+
+            // The first round warms up all variants; only the last one is representative
+            for (int round = 1; round <= ROUNDS; round++) {
+                System.out.printf("round %d%n", round);
+                for (int page : new int[]{0, 25}) {
+                    measure("fetch join template", page, () -> trainingDao.findByTraineeCriteria(
+                            traineeId, null, null, null, null, page, PAGE_SIZE, TrainingFetchPlan.ALL).totalElements());
+                    measure("former graph hint", page,
+                            () -> formerQuery(entityManager, Training.GRAPH_ALL, traineeId, page));
+                }
+            }
+        }
+    }
+
+    private static void measure(String name, int page, LongSupplier finder) {
+        System.out.printf("page %2d %-20s %s%n", page, name,
+                BenchmarkSupport.percentiles(BenchmarkSupport.sample(WARMUP, SAMPLES, finder)));
+    }
+
+    /**
+     * Runs the count and page queries of the former finder, which applied the entity graph of the fetch plan.
+     */
+    private static long formerQuery(EntityManager entityManager, String entityGraph, UUID traineeId, int page) {
+        long total = entityManager.createQuery(FORMER_COUNT_QUERY, Long.class)
+                .setParameter("traineeId", traineeId)
+                .getSingleResult();
+        List<Training> trainings = entityManager.createQuery(FORMER_SELECT_QUERY, Training.class)
+                .setParameter("traineeId", traineeId)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(entityGraph))
+                .setFirstResult(page * PAGE_SIZE)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+        return total + trainings.size();
+    }
+
+    /**
+     * Inserts the trainers, the measured trainee and its trainings with bulk upserts.
+     *
+     * @return the ID of the measured trainee
+     */
+    private static UUID seed(AnnotationConfigApplicationContext context) {
+        TrainingType trainingType = context.getBean(TrainingTypeService.class).findOrCreate("Benchmark");
+
+        List<Trainer> trainers = new ArrayList<>(TRAINERS);
+        for (int i = 0; i < TRAINERS; i++) {
+            Trainer trainer = user(new Trainer(), "bench.trainer" + i);
+            trainer.setSpecialization(trainingType);
+            trainers.add(trainer);
+        }
+        context.getBean(TrainerDao.class).upsertAll(trainers);
+
+        Trainee trainee = user(new Trainee(), "bench.trainee");
+        context.getBean(TraineeDao.class).upsertAll(List.of(trainee));
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Training> trainings = new ArrayList<>(TRAININGS);
+        for (int i = 0; i < TRAININGS; i++) {
+            trainings.add(new Training(UUID.randomUUID(), trainee, trainers.get(i % TRAINERS), "Training " + i,
+                    trainingType, start.plusHours(i), 60));
+        }
+        context.getBean(TrainingDao.class).upsertAll(trainings);
+        return trainee.getId();
+    }
+
+    private static <T extends User> T user(T user, String username) {
+        user.setId(UUID.randomUUID());
+        user.setFirstName("Bench");
+        user.setLastName(username);
+        user.setUsername(username);
+        user.setPassword("benchmark");
+        user.setActive(true);
+        return user;
+    }
+}
@@ -0,0 +1,155 @@
+package com.epam.learn.benchmark;
+
+import com.epam.learn.dao.TraineeDao;
+import com.epam.learn.dao.TrainerDao;
+import com.epam.learn.dao.TrainingDao;
+import com.epam.learn.model.PagedResponse;
+import com.epam.learn.model.training.Training;
+import com.epam.learn.model.training.TrainingType;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.model.user.Trainer;
+import com.epam.learn.model.user.User;
+import com.epam.learn.service.TraineeService;
+import com.epam.learn.service.TrainingTypeService;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Latency of {@link TrainerDao#findNotAssignedToTrainee} at 10k trainers and 100k trainings, next to the former
+ * query that excluded the trainers of the trainee's trainings with {@code NOT IN} in a count and a page query.
+ * The measured trainee has 1k trainings and 100 assigned trainers; one trainer in ten is inactive.
+ * Run it once with {@code -Ddao.paging.window-count.Trainer=false} and once with {@code =true}
+ * to compare the count query with the window count.
+ */
+public class UnassignedTrainersBenchmark {
+
+    private static final int TRAINERS = 10_000;
+    private static final int TRAINEES = 100;
+    private static final int TRAININGS = 100_000;
+    private static final int ASSIGNED_TRAINERS = 100;
+    private static final int PAGE_SIZE = 100;
+    private static final int ROUNDS = 2;
+    private static final int WARMUP = 50;
+    private static final int SAMPLES = 200;
+
+    private static final String NOT_IN_CONDITION = " where t.id not in"
+            + " (select tr.trainer.id from Training tr where tr.trainee.id = :traineeId)";
+
+    private static final String NOT_EXISTS_CONDITION =
+            " where not exists (select 1 from t.trainees te where te.id = :traineeId)";
+
+    public static void main(String[] args) {
+        try (AnnotationConfigApplicationContext context = BenchmarkSupport.startContext()) {
+            TrainerDao trainerDao = context.getBean(TrainerDao.class);
+            EntityManager entityManager = context.getBean(EntityManager.class);
+            Trainee trainee = seed(context);
+
+            System.out.printf("window count for Trainer: %s%n",
+                    context.getEnvironment().getProperty("dao.paging.window-count.Trainer",
+                            context.getEnvironment().getProperty("dao.paging.window-count", "false")));
+            // The first round warms up all variants; only the last one is representative
+            for (int round = 1; round <= ROUNDS; round++) {
+                System.out.printf("round %d%n", round);
+                measure(trainerDao, entityManager, trainee.getId());
+            }
+        }
+    }
+
+    private static void measure(TrainerDao trainerDao, EntityManager entityManager, UUID traineeId) {
+        for (int page : new int[]{0, 50}) {
+            for (boolean activeOnly : new boolean[]{false, true}) {
+                long[] dao = BenchmarkSupport.sample(WARMUP, SAMPLES, () ->
+                        trainerDao.findNotAssignedToTrainee(traineeId, activeOnly, page, PAGE_SIZE).totalElements());
+                String notExistsQuery = "n/a";
+                String notInQuery = "n/a";
+                if (!activeOnly) {
+                    notExistsQuery = BenchmarkSupport.percentiles(BenchmarkSupport.sample(WARMUP, SAMPLES,
+                            () -> countAndPage(entityManager, NOT_EXISTS_CONDITION, traineeId, page).totalElements()));
+                    notInQuery = BenchmarkSupport.percentiles(BenchmarkSupport.sample(WARMUP, SAMPLES,
+                            () -> countAndPage(entityManager, NOT_IN_CONDITION, traineeId, page).totalElements()));
+                }
+                System.out.printf("page %2d activeOnly %-5s  dao: %s  not exists query: %s  former not in query: %s%n",
+                        page, activeOnly, BenchmarkSupport.percentiles(dao), notExistsQuery, notInQuery);
+            }
+        }
+    }
+
+    /**
+     * Runs a count and a page query with the given condition straight on the entity manager, outside the DAO.
+     * With {@link #NOT_IN_CONDITION} this is the former query, which excluded the trainers of all trainings
+     * of the trainee twice, for the count and for the page.
+     */
+    private static PagedResponse<Trainer> countAndPage(EntityManager entityManager, String condition, UUID traineeId,
+                                                       int page) {
+        long total = entityManager.createQuery("select count(t) from Trainer t" + condition, Long.class)
+                .setParameter("traineeId", traineeId)
+                .getSingleResult();
+        List<Trainer> trainers = entityManager.createQuery(
+                        "select t from Trainer t join fetch t.specialization" + condition
+                                + " order by t.username, t.id", Trainer.class)
+                .setParameter("traineeId", traineeId)
+                .setFirstResult(page * PAGE_SIZE)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+        return new PagedResponse<>(trainers, page, PAGE_SIZE, (int) total,
+                (int) Math.ceil((double) total / PAGE_SIZE));
+    }
+
+    /**
+     * Inserts the trainers, trainees and trainings with bulk upserts and assigns trainers to the measured trainee.
+     *
+     * @return the measured trainee
+     */
+    private static Trainee seed(AnnotationConfigApplicationContext context) {
+        TrainingType trainingType = context.getBean(TrainingTypeService.class).findOrCreate("Benchmark");
+        Random random = new Random(42);
+
+        List<Trainer> trainers = new ArrayList<>(TRAINERS);
+        for (int i = 0; i < TRAINERS; i++) {
+            Trainer trainer = user(new Trainer(), "bench.trainer" + i, i % 10 != 0);
+            trainer.setSpecialization(trainingType);
+            trainers.add(trainer);
+        }
+        context.getBean(TrainerDao.class).upsertAll(trainers);
+
+        List<Trainee> trainees = new ArrayList<>(TRAINEES);
+        for (int i = 0; i < TRAINEES; i++) {
+            trainees.add(user(new Trainee(), "bench.trainee" + i, true));
+        }
+        context.getBean(TraineeDao.class).upsertAll(trainees);
+
+        TrainingDao trainingDao = context.getBean(TrainingDao.class);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Training> trainings = new ArrayList<>();
+        for (int i = 0; i < TRAININGS; i++) {
+            trainings.add(new Training(UUID.randomUUID(), trainees.get(i % TRAINEES),
+                    trainers.get(random.nextInt(TRAINERS)), "Training " + i, trainingType,
+                    start.plusHours(i), 60));
+            if (trainings.size() == 10_000) {
+                trainingDao.upsertAll(trainings);
+                trainings.clear();
+            }
+        }
+
+        Trainee trainee = trainees.get(0);
+        List<UUID> assigned = trainers.subList(0, ASSIGNED_TRAINERS).stream().map(User::getId).toList();
+        context.getBean(TraineeService.class).updateTrainersList(trainee.getUsername(), assigned);
+        return trainee;
+    }
+
+    private static <T extends User> T user(T user, String username, boolean active) {
+        user.setId(UUID.randomUUID());
+        user.setFirstName("Bench");
+        user.setLastName(username);
+        user.setUsername(username);
+        user.setPassword("benchmark");
+        user.setActive(active);
+        return user;
+    }
+}
@@ -0,0 +1,85 @@
+package com.epam.learn.benchmark;
+
+import com.epam.learn.dao.TraineeDao;
+import com.epam.learn.dao.UserDao;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.model.user.User;
+import com.epam.learn.service.auth.AuthService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.ResolvableType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Latency of {@link AuthService#generateUsername} as the number of users sharing the base username grows,
+ * next to the former allocation that probed {@code base}, {@code base1}, ... with one query per candidate.
+ * The single prefix query keeps one round trip per allocation; what still grows is the number of usernames
+ * it returns.
+ */
+public class UsernameAllocationBenchmark {
+
+    private static final int[] COLLISIONS = {0, 10, 100, 1_000, 10_000};
+    private static final int PROBE_LOOP_LIMIT = 1_000;
+    private static final int WARMUP = 200;
+    private static final int SAMPLES = 200;
+
+    public static void main(String[] args) {
+        try (AnnotationConfigApplicationContext context = BenchmarkSupport.startContext()) {
+            AuthService authService = context.getBean(AuthService.class);
+            TraineeDao traineeDao = context.getBean(TraineeDao.class);
+            @SuppressWarnings("unchecked")
+            UserDao<User> userDao = (UserDao<User>) context.getBeanProvider(
+                    ResolvableType.forClassWithGenerics(UserDao.class, User.class)).getObject();
+
+            String firstName = "Bench";
+            String lastName = "Collision";
+            String base = (firstName + "." + lastName).toLowerCase();
+
+            int existing = 0;
+            for (int collisions : COLLISIONS) {
+                List<Trainee> batch = new ArrayList<>();
+                for (; existing < collisions; existing++) {
+                    batch.add(trainee(firstName, lastName, existing == 0 ? base : base + existing));
+                }
+                if (!batch.isEmpty()) {
+                    traineeDao.upsertAll(batch);
+                }
+
+                long[] prefixQuery = BenchmarkSupport.sample(WARMUP, SAMPLES,
+                        () -> authService.generateUsername(firstName, lastName).length());
+                String probeLoop = "skipped";
+                if (collisions <= PROBE_LOOP_LIMIT) {
+                    long[] latencies = BenchmarkSupport.sample(WARMUP / 10, SAMPLES / 10,
+                            () -> probeLoop(userDao, base).length());
+                    probeLoop = BenchmarkSupport.percentiles(latencies);
+                }
+                System.out.printf("collisions %6d  prefix query: %s  probe loop: %s%n",
+                        collisions, BenchmarkSupport.percentiles(prefixQuery), probeLoop);
+            }
+        }
+    }
+
+    /**
+     * The former allocation: one lookup per candidate until a free one is found.
+     */
+    private static String probeLoop(UserDao<User> userDao, String base) {
+        String candidate = base;
+        int counter = 1;
+        while (userDao.findByUsername(candidate).isPresent()) {
+            candidate = base + counter++;
+        }
+        return candidate;
+    }
+
+    private static Trainee trainee(String firstName, String lastName, String username) {
+        Trainee trainee = new Trainee();
+        trainee.setId(UUID.randomUUID());
+        trainee.setFirstName(firstName);
+        trainee.setLastName(lastName);
+        trainee.setUsername(username);
+        trainee.setPassword("benchmark");
+        return trainee;
+    }
+}
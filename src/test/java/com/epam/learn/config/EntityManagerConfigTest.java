@@ -0,0 +1,124 @@
+package com.epam.learn.config;
+
+import com.epam.learn.H2IntegrationTest;
+import com.epam.learn.dao.TraineeDao;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.service.TraineeService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.epam.learn.dao.TestEntities.createTrainee;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@H2IntegrationTest
+class EntityManagerConfigTest {
+
+    /**
+     * Below the size of the connection pool, so every thread holds a transaction at the same time.
+     */
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 25;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TraineeDao traineeDao;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    @Test
+    void concurrentTransactionsWorkOnPersistenceContextsOfTheirOwn() throws Exception {
+        List<UUID> traineeIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            traineeIds.add(createTrainee(traineeService, "Concurrent", "Trainee" + i).getId());
+        }
+        Trainee[] loaded = new Trainee[THREADS];
+        EntityManager[] boundEntityManagers = new EntityManager[THREADS];
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> threads = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int thread = i;
+                threads.add(executor.submit(() -> {
+                    for (int round = 0; round < ROUNDS; round++) {
+                        int currentRound = round;
+                        transactionTemplate.executeWithoutResult(status -> {
+                            Trainee trainee = traineeDao.findById(traineeIds.get(thread)).orElseThrow();
+                            trainee.setAddress("Thread " + thread + " round " + currentRound);
+                            loaded[thread] = trainee;
+                            boundEntityManagers[thread] = boundEntityManager();
+                            await(barrier);
+
+                            // Every transaction sees its own trainee, and none of those loaded by the others
+                            for (int other = 0; other < THREADS; other++) {
+                                assertThat(entityManager.contains(loaded[other])).isEqualTo(other == thread);
+                            }
+                            await(barrier);
+                        });
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : threads) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Set<EntityManager> distinctEntityManagers = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinctEntityManagers.addAll(List.of(boundEntityManagers));
+        assertThat(distinctEntityManagers).hasSize(THREADS);
+        // Each transaction flushed its own change only
+        for (int i = 0; i < THREADS; i++) {
+            assertThat(traineeDao.findById(traineeIds.get(i)).orElseThrow().getAddress())
+                    .isEqualTo("Thread " + i + " round " + (ROUNDS - 1));
+        }
+    }
+
+    /**
+     * Returns the EntityManager the transaction manager bound to the transaction of the current thread,
+     * which the shared proxy delegates to.
+     */
+    private EntityManager boundEntityManager() {
+        return ((EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory))
+                .getEntityManager();
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Threads of the test did not meet at the barrier", e);
+        }
+    }
+}
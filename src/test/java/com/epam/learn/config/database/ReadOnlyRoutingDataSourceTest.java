@@ -0,0 +1,105 @@
+package com.epam.learn.config.database;
+
+import com.epam.learn.H2IntegrationTest;
+import com.epam.learn.dao.TraineeDao;
+import com.epam.learn.dao.TrainingDao;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.service.TraineeService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.util.List;
+
+import static com.epam.learn.dao.TestEntities.createTrainee;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@H2IntegrationTest
+class ReadOnlyRoutingDataSourceTest {
+
+    private static final String READ_WRITE_POOL = "training-h2-pool";
+    private static final String READ_ONLY_POOL = "training-h2-readonly-pool";
+
+    @Autowired
+    private ConnectionPoolMetrics connectionPoolMetrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TraineeDao traineeDao;
+
+    @Autowired
+    private TrainingDao trainingDao;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    @Test
+    void findersTakeTheirConnectionsFromTheReadOnlyPool() {
+        Trainee trainee = createTrainee(traineeService, "Routing", "Finder");
+        long readWrite = acquisitions(READ_WRITE_POOL);
+        long readOnly = acquisitions(READ_ONLY_POOL);
+
+        trainingDao.findByTraineeCriteria(trainee.getId(), null, null, null, null, 0, 10);
+        traineeDao.findByFirstName("Routing", 0, 10);
+
+        assertThat(acquisitions(READ_ONLY_POOL)).isEqualTo(readOnly + 2);
+        assertThat(acquisitions(READ_WRITE_POOL)).isEqualTo(readWrite);
+        Boolean connectionReadOnly = readOnlyTransaction().execute(status -> entityManager.unwrap(Session.class)
+                .doReturningWork(Connection::isReadOnly));
+        assertThat(connectionReadOnly).isTrue();
+    }
+
+    @Test
+    void writesTakeTheirConnectionsFromTheReadWritePool() {
+        long readWrite = acquisitions(READ_WRITE_POOL);
+        long readOnly = acquisitions(READ_ONLY_POOL);
+
+        // The finders that allocate the username join the transaction of the service
+        createTrainee(traineeService, "Routing", "Writer");
+
+        assertThat(acquisitions(READ_WRITE_POOL)).isEqualTo(readWrite + 1);
+        assertThat(acquisitions(READ_ONLY_POOL)).isEqualTo(readOnly);
+    }
+
+    @Test
+    void writeInAReadOnlyTransactionFails() {
+        Trainee trainee = createTrainee(traineeService, "Routing", "ReadOnly");
+        Trainee other = new Trainee();
+        other.setFirstName("Routing");
+        other.setLastName("Rejected");
+        other.setUsername("Routing.Rejected");
+        other.setPassword("password");
+        TransactionTemplate readOnlyTransaction = readOnlyTransaction();
+
+        assertThatThrownBy(() -> readOnlyTransaction.executeWithoutResult(status -> traineeDao.save(other)))
+                .isInstanceOf(IllegalTransactionStateException.class);
+        assertThatThrownBy(() -> readOnlyTransaction.executeWithoutResult(
+                status -> traineeDao.updateActive(List.of(trainee.getId()), false)))
+                .isInstanceOf(IllegalTransactionStateException.class);
+
+        assertThat(traineeDao.findByUsername("Routing.Rejected")).isEmpty();
+        assertThat(traineeDao.findById(trainee.getId())).hasValueSatisfying(found -> assertThat(found.isActive())
+                .isTrue());
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+
+    private long acquisitions(String poolName) {
+        return connectionPoolMetrics.snapshot(poolName).acquisitions();
+    }
+}
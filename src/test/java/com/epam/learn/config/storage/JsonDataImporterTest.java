@@ -0,0 +1,183 @@
+package com.epam.learn.config.storage;
+
+import com.epam.learn.H2IntegrationTest;
+import com.epam.learn.dao.TraineeDao;
+import com.epam.learn.dao.TrainerDao;
+import com.epam.learn.dao.TrainingDao;
+import com.epam.learn.dao.TrainingTypeDao;
+import com.epam.learn.dao.bulk.BulkLoader;
+import com.epam.learn.model.training.Training;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.model.user.Trainer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.epam.learn.config.storage.TestDataFile.ASSIGNMENTS;
+import static com.epam.learn.config.storage.TestDataFile.REVERSE_ORDER;
+import static com.epam.learn.config.storage.TestDataFile.TRAINEES;
+import static com.epam.learn.config.storage.TestDataFile.TRAINERS;
+import static com.epam.learn.config.storage.TestDataFile.TRAININGS;
+import static com.epam.learn.config.storage.TestDataFile.TRAINING_TYPES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@H2IntegrationTest
+class JsonDataImporterTest {
+
+    /**
+     * Small enough for every array to span several chunks of every writer.
+     */
+    private static final int CHUNK_SIZE = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TrainingTypeDao trainingTypeDao;
+
+    @Autowired
+    private TraineeDao traineeDao;
+
+    @Autowired
+    private TrainerDao trainerDao;
+
+    @Autowired
+    private TrainingDao trainingDao;
+
+    @Test
+    @Transactional(readOnly = true)
+    void importsArraysBeforeTheArraysTheyReferenceThroughSeveralWriters() throws IOException {
+        TestDataFile file = new TestDataFile("import.reverse", 3, 20, 10, 200, 60);
+        JsonDataImporter importer = new JsonDataImporter(objectMapper, bulkLoader(), 3, 1);
+
+        importer.importFrom(new ByteArrayInputStream(file.toBytes(REVERSE_ORDER)));
+
+        assertRows(file);
+        Map<String, StageMetrics> metrics = importer.metrics();
+        assertThat(metrics).containsOnlyKeys("parse", "resolve", "write");
+        assertThat(metrics.get("parse").items()).isEqualTo(file.elements());
+        assertThat(metrics.get("resolve").items()).isEqualTo(file.elements());
+        assertThat(metrics.get("write").items()).isEqualTo(file.elements());
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    void importsArraysInAnyOrder() throws IOException {
+        TestDataFile file = new TestDataFile("import.mixed", 2, 7, 3, 30, 12);
+
+        new JsonDataImporter(objectMapper, bulkLoader(), 2, 2).importFrom(new ByteArrayInputStream(
+                file.toBytes(List.of(TRAININGS, TRAINING_TYPES, ASSIGNMENTS, TRAINERS, TRAINEES))));
+
+        assertRows(file);
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    void referencesMissingFromTheFileResolveToExistingRows() throws IOException {
+        TestDataFile file = new TestDataFile("import.existing", 2, 10, 4, 50, 20);
+        new JsonDataImporter(objectMapper, bulkLoader(), 2, 1)
+                .importFrom(new ByteArrayInputStream(file.toBytes(List.of(TRAINING_TYPES, TRAINEES, TRAINERS))));
+
+        // The trainings and assignments reference users and training types that are only in the database
+        JsonDataImporter importer = new JsonDataImporter(objectMapper, bulkLoader(), 2, 1);
+        importer.importFrom(new ByteArrayInputStream(file.toBytes(List.of(TRAININGS, ASSIGNMENTS))));
+
+        assertRows(file);
+        assertThat(importer.metrics().get("write").items()).isEqualTo(file.trainings() + file.assignments());
+    }
+
+    @Test
+    void referenceToARowThatDoesNotExistFailsTheImport() {
+        // A trainer and a training of a trainee that is neither in the file nor in the database
+        TestDataFile file = new TestDataFile("import.unresolved", 1, 1, 1, 1, 0);
+        JsonDataImporter importer = new JsonDataImporter(objectMapper, bulkLoader(), 2, 1);
+
+        assertThatThrownBy(() -> importer.importFrom(new ByteArrayInputStream(
+                file.toBytes(List.of(TRAININGS, TRAINERS, TRAINING_TYPES)))))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(entityManager.find(Training.class, file.id(TRAININGS, 0))).isNull();
+        assertThat(entityManager.find(Trainer.class, file.id(TRAINERS, 0))).isNotNull();
+    }
+
+    @Test
+    void failureOfAWriterFailsTheImportBeforeTheNextArray() throws IOException {
+        TestDataFile imported = new TestDataFile("import.failing", 1, 10, 2, 10, 0);
+        new JsonDataImporter(objectMapper, bulkLoader(), 3, 1)
+                .importFrom(new ByteArrayInputStream(imported.toBytes(List.of(TRAINING_TYPES, TRAINEES))));
+        // Other IDs with the same usernames, which violates the unique key of the usernames
+        TestDataFile file = new TestDataFile("import.duplicate", 1, 10, 2, 10, 0);
+        byte[] content = new String(file.toBytes(TestDataFile.DEPENDENCY_ORDER), StandardCharsets.UTF_8)
+                .replace(file.prefix() + ".", imported.prefix() + ".")
+                .getBytes(StandardCharsets.UTF_8);
+        JsonDataImporter importer = new JsonDataImporter(objectMapper, bulkLoader(), 3, 1);
+
+        assertThatThrownBy(() -> importer.importFrom(new ByteArrayInputStream(content)))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(entityManager.find(Trainee.class, file.id(TRAINEES, 0))).isNull();
+        assertThat(entityManager.find(Trainer.class, file.id(TRAINERS, 0))).isNull();
+        assertThat(entityManager.find(Training.class, file.id(TRAININGS, 0))).isNull();
+        assertThat(count("select count(t) from Trainee t where t.username like :prefix", imported))
+                .isEqualTo(imported.trainees());
+    }
+
+    private void assertRows(TestDataFile file) {
+        assertThat(count("select count(t) from TrainingType t where t.name like :prefix", file))
+                .isEqualTo(file.trainingTypes());
+        assertThat(count("select count(t) from Trainee t where t.username like :prefix", file))
+                .isEqualTo(file.trainees());
+        assertThat(count("select count(t) from Trainer t where t.username like :prefix"
+                + " and t.specialization.name like :prefix", file)).isEqualTo(file.trainers());
+        assertThat(count("select count(t) from Training t where t.trainingName like :prefix"
+                + " and t.trainee.username like :prefix and t.trainer.username like :prefix"
+                + " and t.trainingType.name like :prefix", file)).isEqualTo(file.trainings());
+        assertThat(count("select count(tr) from Trainee t join t.trainers tr where t.username like :prefix", file))
+                .isEqualTo(file.assignments());
+
+        int last = file.trainings() - 1;
+        Training training = entityManager.find(Training.class, file.id(TRAININGS, last));
+        assertThat(training.getTrainee().getId()).isEqualTo(file.id(TRAINEES, last % file.trainees()));
+        assertThat(training.getTrainer().getId()).isEqualTo(file.id(TRAINERS, last % file.trainers()));
+        assertThat(training.getTrainingType().getId())
+                .isEqualTo(file.id(TRAINING_TYPES, last % file.trainingTypes()));
+        // Assignments 0, trainees, 2 * trainees, ... are those of the first trainee
+        List<UUID> expectedTrainers = new ArrayList<>();
+        for (int i = 0; i < file.assignments(); i += file.trainees()) {
+            expectedTrainers.add(file.id(TRAINERS, i / file.trainees()));
+        }
+        assertThat(entityManager.createQuery("select tr.id from Trainee t join t.trainers tr where t.id = :id",
+                        UUID.class)
+                .setParameter("id", file.id(TRAINEES, 0))
+                .getResultList())
+                .containsExactlyInAnyOrderElementsOf(expectedTrainers);
+    }
+
+    private long count(String jpql, TestDataFile file) {
+        return entityManager.createQuery(jpql, Long.class)
+                .setParameter("prefix", file.prefix() + "%")
+                .getSingleResult();
+    }
+
+    private BulkLoader bulkLoader() {
+        return new BulkLoader(entityManager, transactionManager, trainingTypeDao, traineeDao, trainerDao, trainingDao,
+                CHUNK_SIZE);
+    }
+}
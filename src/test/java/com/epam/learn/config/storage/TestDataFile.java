@@ -0,0 +1,168 @@
+package com.epam.learn.config.storage;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Generates data files in the format read by {@link JsonDataImporter}, with the arrays in any order.
+ * The IDs are derived from a prefix, the kind of the element and its index, and the names and usernames start with
+ * the prefix, so a test can find the rows of its file. Training {@code i} belongs to trainee
+ * {@code i % trainees}, trainer {@code i % trainers} and training type {@code i % trainingTypes};
+ * assignment {@code i} assigns trainer {@code i / trainees} to trainee {@code i % trainees}.
+ *
+ * @param prefix        the prefix of the IDs and names
+ * @param trainingTypes the number of training types
+ * @param trainees      the number of trainees
+ * @param trainers      the number of trainers
+ * @param trainings     the number of trainings
+ * @param assignments   the number of assignments; at most {@code trainees * trainers}
+ */
+public record TestDataFile(String prefix, int trainingTypes, int trainees, int trainers, int trainings,
+                           int assignments) {
+
+    public static final String TRAINING_TYPES = "trainingTypes";
+    public static final String TRAINEES = "trainees";
+    public static final String TRAINERS = "trainers";
+    public static final String TRAININGS = "trainings";
+    public static final String ASSIGNMENTS = "traineeTrainerRelationships";
+
+    /**
+     * Every array after the arrays it references, as in data.json.
+     */
+    public static final List<String> DEPENDENCY_ORDER = List.of(TRAINING_TYPES, TRAINEES, TRAINERS, TRAININGS,
+            ASSIGNMENTS);
+
+    /**
+     * Every array before the arrays it references.
+     */
+    public static final List<String> REVERSE_ORDER = List.of(ASSIGNMENTS, TRAININGS, TRAINERS, TRAINEES,
+            TRAINING_TYPES);
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    /**
+     * @return the number of elements of the file
+     */
+    public int elements() {
+        return trainingTypes + trainees + trainers + trainings + assignments;
+    }
+
+    public UUID id(String array, int index) {
+        return UUID.nameUUIDFromBytes((prefix + "/" + array + "/" + index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the file with the arrays in the given order.
+     *
+     * @param out    the stream to write to; not closed
+     * @param arrays the names of the arrays, in the order they are written
+     */
+    public void write(OutputStream out, List<String> arrays) throws IOException {
+        try (JsonGenerator json = new JsonFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            for (String array : arrays) {
+                json.writeArrayFieldStart(array);
+                switch (array) {
+                    case TRAINING_TYPES -> writeTrainingTypes(json);
+                    case TRAINEES -> writeTrainees(json);
+                    case TRAINERS -> writeTrainers(json);
+                    case TRAININGS -> writeTrainings(json);
+                    case ASSIGNMENTS -> writeAssignments(json);
+                    default -> throw new IllegalArgumentException("Unknown array " + array);
+                }
+                json.writeEndArray();
+            }
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * @param arrays the names of the arrays, in the order they are written
+     * @return the content of the file with the arrays in the given order
+     */
+    public byte[] toBytes(List<String> arrays) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            write(out, arrays);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void writeTrainingTypes(JsonGenerator json) throws IOException {
+        for (int i = 0; i < trainingTypes; i++) {
+            json.writeStartObject();
+            json.writeStringField("id", id(TRAINING_TYPES, i).toString());
+            json.writeStringField("name", prefix + " type " + i);
+            json.writeEndObject();
+        }
+    }
+
+    private void writeTrainees(JsonGenerator json) throws IOException {
+        for (int i = 0; i < trainees; i++) {
+            json.writeStartObject();
+            writeUser(json, id(TRAINEES, i), "trainee" + i);
+            json.writeStringField("dateOfBirth", "1990-01-15");
+            json.writeStringField("address", i + " Main St");
+            json.writeEndObject();
+        }
+    }
+
+    private void writeTrainers(JsonGenerator json) throws IOException {
+        for (int i = 0; i < trainers; i++) {
+            json.writeStartObject();
+            writeUser(json, id(TRAINERS, i), "trainer" + i);
+            writeReference(json, "specialization", id(TRAINING_TYPES, i % trainingTypes));
+            json.writeEndObject();
+        }
+    }
+
+    private void writeTrainings(JsonGenerator json) throws IOException {
+        for (int i = 0; i < trainings; i++) {
+            json.writeStartObject();
+            json.writeStringField("id", id(TRAININGS, i).toString());
+            writeReference(json, "trainee", id(TRAINEES, i % trainees));
+            writeReference(json, "trainer", id(TRAINERS, i % trainers));
+            json.writeStringField("trainingName", prefix + " training " + i);
+            writeReference(json, "trainingType", id(TRAINING_TYPES, i % trainingTypes));
+            json.writeStringField("trainingDate", START.plusHours(i).toString());
+            json.writeNumberField("trainingDuration", 60);
+            json.writeEndObject();
+        }
+    }
+
+    private void writeAssignments(JsonGenerator json) throws IOException {
+        for (int i = 0; i < assignments; i++) {
+            json.writeStartObject();
+            json.writeStringField("traineeId", id(TRAINEES, i % trainees).toString());
+            json.writeStringField("trainerId", id(TRAINERS, i / trainees).toString());
+            json.writeEndObject();
+        }
+    }
+
+    private void writeUser(JsonGenerator json, UUID id, String name) throws IOException {
+        json.writeStringField("id", id.toString());
+        json.writeStringField("firstName", prefix);
+        json.writeStringField("lastName", name);
+        json.writeStringField("username", prefix + "." + name);
+        json.writeStringField("password", "password");
+        json.writeBooleanField("active", true);
+    }
+
+    private static void writeReference(JsonGenerator json, String field, UUID id) throws IOException {
+        json.writeObjectFieldStart(field);
+        json.writeStringField("id", id.toString());
+        json.writeEndObject();
+    }
+}
@@ -0,0 +1,157 @@
+package com.epam.learn.config.storage;
+
+import com.epam.learn.dao.bulk.BulkLoader;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WriteStageTest {
+
+    private final List<String> written = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void finishWaitsUntilEveryChunkIsWritten() throws Exception {
+        BulkLoader bulkLoader = bulkLoader(2, values -> {
+            sleep(20);
+            return values.size();
+        });
+
+        try (WriteStage stage = new WriteStage(bulkLoader, 2, 1)) {
+            for (int i = 0; i < 11; i++) {
+                stage.submit("trainees", i, "trainee" + i);
+            }
+            stage.finish();
+
+            assertThat(written).hasSize(11);
+            assertThat(stage.metrics().items()).isEqualTo(11);
+        }
+    }
+
+    @Test
+    void valuesOfTheNextLoadAreWrittenAfterThePreviousLoadIsCommitted() throws Exception {
+        BulkLoader bulkLoader = bulkLoader(3, values -> {
+            sleep(5);
+            return values.size();
+        });
+
+        try (WriteStage stage = new WriteStage(bulkLoader, 3, 2)) {
+            for (int i = 0; i < 20; i++) {
+                stage.submit("trainers", i, "trainer" + i);
+            }
+            for (int i = 0; i < 20; i++) {
+                stage.submit("trainings", i, "training" + i);
+            }
+            stage.finish();
+        }
+
+        assertThat(written).hasSize(40);
+        assertThat(written.subList(0, 20)).allMatch(value -> value.startsWith("trainers:"));
+        assertThat(written.subList(20, 40)).allMatch(value -> value.startsWith("trainings:"));
+    }
+
+    @Test
+    void submitBlocksWhileTheQueueOfTheWriterIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BulkLoader bulkLoader = bulkLoader(1, values -> {
+            await(release);
+            return values.size();
+        });
+        ExecutorService submitter = Executors.newSingleThreadExecutor();
+
+        try (WriteStage stage = new WriteStage(bulkLoader, 1, 1)) {
+            // The writer holds the first chunk and the queue the second, so the third has to wait
+            Future<?> submitted = submitter.submit(() -> {
+                for (int i = 0; i < 3; i++) {
+                    stage.submit("trainees", i, "trainee" + i);
+                }
+                return null;
+            });
+
+            assertThatThrownBy(() -> submitted.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            assertThat(written).isEmpty();
+
+            release.countDown();
+            submitted.get(5, TimeUnit.SECONDS);
+            stage.finish();
+            assertThat(written).hasSize(3);
+        } finally {
+            submitter.shutdownNow();
+        }
+    }
+
+    @Test
+    void failureOfAWriterIsRethrownToTheSubmittingThread() throws Exception {
+        IllegalStateException failure = new IllegalStateException("constraint violated");
+        BulkLoader bulkLoader = bulkLoader(1, values -> {
+            throw failure;
+        });
+
+        try (WriteStage stage = new WriteStage(bulkLoader, 2, 1)) {
+            stage.submit("trainees", 0, "trainee0");
+
+            assertThatThrownBy(stage::finish).isSameAs(failure);
+        }
+    }
+
+    /**
+     * Creates a bulk loader whose writers record the values they are given as {@code <load>:<value>}
+     * once the given write function has returned.
+     */
+    private BulkLoader bulkLoader(int chunkSize, ChunkWrite write) {
+        BulkLoader bulkLoader = mock(BulkLoader.class);
+        when(bulkLoader.getChunkSize()).thenReturn(chunkSize);
+        when(bulkLoader.openWriters(anyString(), anyInt())).thenAnswer(invocation -> {
+            String name = invocation.getArgument(0);
+            List<BulkLoader.Writer> writers = new ArrayList<>();
+            for (int i = 0; i < (int) invocation.getArgument(1); i++) {
+                BulkLoader.Writer writer = mock(BulkLoader.Writer.class);
+                when(writer.upsert(anyList())).thenAnswer(upsert -> {
+                    List<?> values = upsert.getArgument(0);
+                    int rows = write.apply(values);
+                    values.forEach(value -> written.add(name + ":" + value));
+                    return rows;
+                });
+                writers.add(writer);
+            }
+            return writers;
+        });
+        return bulkLoader;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkWrite {
+        int apply(List<?> values);
+    }
+}
@@ -0,0 +1,7 @@
+package com.epam.learn.dao;
+
+import com.epam.learn.H2IntegrationTest;
+
+@H2IntegrationTest
+class H2QueryPlanTest extends QueryPlanTest {
+}
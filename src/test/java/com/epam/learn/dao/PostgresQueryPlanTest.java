@@ -0,0 +1,22 @@
+package com.epam.learn.dao;
+
+import com.epam.learn.config.AppConfig;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/**
+ * Runs the query plan checks against the PostgreSQL database of the default profile, migrated by Flyway.
+ * Requires PostgreSQL 16 or later; enabled by pointing {@code postgres.host} to it, e.g.
+ * {@code mvn test -Dtest=PostgresQueryPlanTest -Dpostgres.host=localhost}.
+ */
+@EnabledIfSystemProperty(named = "postgres.host", matches = ".+")
+@SpringJUnitConfig(AppConfig.class)
+@TestPropertySource(properties = {
+        "spring.profiles.active=default",
+        "spring.jpa.show-sql=false",
+        "auth.password.hash.iterations=1000",
+        "auth.username.allocation.attempts=10"
+})
+class PostgresQueryPlanTest extends QueryPlanTest {
+}
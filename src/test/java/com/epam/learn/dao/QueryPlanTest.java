@@ -0,0 +1,196 @@
+package com.epam.learn.dao;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.model.user.Trainer;
+import com.epam.learn.service.TraineeService;
+import com.epam.learn.service.TrainerService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.epam.learn.dao.TestEntities.createTrainee;
+import static com.epam.learn.dao.TestEntities.createTrainer;
+import static com.epam.learn.dao.TestEntities.createTrainings;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Explains the SQL of the criteria, cursor and anti-join finders and fails if a plan reads the whole of
+ * {@code users}, {@code trainings} or {@code trainee_trainer}. The SQL is captured from the Hibernate SQL log,
+ * so the plans are those of the statements the DAOs actually run. The checks run on H2 with
+ * {@link H2QueryPlanTest}, and on PostgreSQL with {@link PostgresQueryPlanTest} when a database is configured.
+ */
+abstract class QueryPlanTest {
+
+    private static final List<String> INDEXED_TABLES = List.of("USERS", "TRAININGS", "TRAINEE_TRAINER");
+
+    /**
+     * Full scan in the plans of H2, e.g. {@code PUBLIC.TRAININGS.tableScan}.
+     */
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("PUBLIC\\.(\\w+)\\.tableScan");
+
+    /**
+     * Full scan in the plans of PostgreSQL, e.g. {@code Seq Scan on trainings t1_0}.
+     */
+    private static final Pattern POSTGRES_TABLE_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    @Autowired
+    private TrainingDao trainingDao;
+
+    @Autowired
+    private TrainerDao trainerDao;
+
+    @Autowired
+    private TraineeDao traineeDao;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void criteriaFindersUseIndexes() throws SQLException {
+        Trainer trainer = createTrainer(trainerService, "Plan", "Criteria", "Plan Yoga");
+        Trainee trainee = createTrainee(traineeService, "Plan", "Criteria");
+        createTrainings(trainingDao, trainee, trainer, 3);
+
+        assertNoFullScans(captureSql(() -> {
+            trainingDao.findByTraineeCriteria(trainee.getId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1),
+                    "Plan", "Plan Yoga", 0, 10);
+            trainingDao.findByTrainerCriteria(trainer.getId(), null, null, "Plan", 0, 10);
+            trainingDao.findViewsByTraineeCriteria(trainee.getId(), null, null, null, null, 0, 10);
+        }));
+    }
+
+    @Test
+    void cursorFindersUseIndexes() throws SQLException {
+        Trainer trainer = createTrainer(trainerService, "Plan", "Cursor", "Plan Pilates");
+        Trainee trainee = createTrainee(traineeService, "Plan", "Cursor");
+        createTrainings(trainingDao, trainee, trainer, 3);
+
+        assertNoFullScans(captureSql(() -> {
+            String cursor = trainingDao.findByTraineeCriteria(trainee.getId(), null, null, null, null, null, 1)
+                    .nextCursor();
+            trainingDao.findByTraineeCriteria(trainee.getId(), null, null, null, null, cursor, 1);
+            trainingDao.findByTrainerCriteria(trainer.getId(), null, null, null, cursor, 1);
+        }));
+    }
+
+    @Test
+    void antiJoinAndAssignmentFindersUseIndexes() throws SQLException {
+        Trainer trainer = createTrainer(trainerService, "Plan", "Assigned", "Plan Boxing");
+        Trainee trainee = createTrainee(traineeService, "Plan", "Assigned");
+        traineeService.updateTrainersList(trainee.getUsername(), List.of(trainer.getId()));
+
+        assertNoFullScans(captureSql(() -> {
+            trainerDao.findNotAssignedToTrainee(trainee.getId(), 0, 10);
+            trainerDao.findNotAssignedToTrainee(trainee.getId(), true, 0, 10);
+            traineeDao.findByTrainerId(trainer.getId(), 0, 10);
+        }));
+    }
+
+    /**
+     * Runs the given step and returns the SQL of the queries it ran, as logged by Hibernate.
+     */
+    private static List<String> captureSql(Runnable step) {
+        Logger sqlLogger = (Logger) LoggerFactory.getLogger("org.hibernate.SQL");
+        Level level = sqlLogger.getLevel();
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        sqlLogger.addAppender(appender);
+        sqlLogger.setLevel(Level.DEBUG);
+        try {
+            step.run();
+        } finally {
+            sqlLogger.setLevel(level);
+            sqlLogger.detachAppender(appender);
+        }
+
+        List<String> queries = appender.list.stream()
+                .map(ILoggingEvent::getFormattedMessage)
+                .map(String::strip)
+                .filter(sql -> sql.regionMatches(true, 0, "select", 0, 6))
+                .distinct()
+                .toList();
+        assertThat(queries).isNotEmpty();
+        return queries;
+    }
+
+    private void assertNoFullScans(List<String> queries) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : queries) {
+                String plan = explain(connection, sql);
+                assertThat(fullyScannedTables(connection.getMetaData(), plan))
+                        .as("Tables fully scanned by %s%nPlan: %s", sql, plan)
+                        .doesNotContainAnyElementsOf(INDEXED_TABLES);
+            }
+        }
+    }
+
+    /**
+     * Explains a query without binding its parameters. H2 plans a parameterized query before the values are
+     * bound; PostgreSQL 16 or later plans it as a generic plan, with the sequential scans disabled so that
+     * a scan of the small test tables is only chosen when no index can answer the query.
+     */
+    private static String explain(Connection connection, String sql) throws SQLException {
+        if (isPostgres(connection.getMetaData())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set enable_seqscan = off");
+                int[] index = {0};
+                String numbered = Pattern.compile("\\?").matcher(sql).replaceAll(match -> "\\$" + ++index[0]);
+                return readPlan(statement.executeQuery("explain (generic_plan) " + numbered));
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            return readPlan(statement.executeQuery());
+        }
+    }
+
+    private static String readPlan(ResultSet resultSet) throws SQLException {
+        try (resultSet) {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+            return plan.toString();
+        }
+    }
+
+    private static List<String> fullyScannedTables(DatabaseMetaData metaData, String plan) throws SQLException {
+        Matcher matcher = (isPostgres(metaData) ? POSTGRES_TABLE_SCAN : H2_TABLE_SCAN).matcher(plan);
+        List<String> tables = new ArrayList<>();
+        while (matcher.find()) {
+            tables.add(matcher.group(1).toUpperCase(Locale.ROOT));
+        }
+        return tables;
+    }
+
+    private static boolean isPostgres(DatabaseMetaData metaData) throws SQLException {
+        return metaData.getDatabaseProductName().equals("PostgreSQL");
+    }
+}
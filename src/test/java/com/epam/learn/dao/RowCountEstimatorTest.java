@@ -0,0 +1,79 @@
+package com.epam.learn.dao;
+
+import com.epam.learn.H2IntegrationTest;
+import com.epam.learn.model.training.Training;
+import com.epam.learn.model.training.TrainingView;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.model.user.Trainer;
+import com.epam.learn.service.TraineeService;
+import com.epam.learn.service.TrainerService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static com.epam.learn.dao.TestEntities.createTrainee;
+import static com.epam.learn.dao.TestEntities.createTrainer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@H2IntegrationTest
+class RowCountEstimatorTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TrainingDao trainingDao;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Test
+    void estimateFallsBackToTheCachedExactCountWithoutPlannerStatistics() {
+        RowCountEstimator estimator = new RowCountEstimator(entityManager, 60_000);
+        AtomicInteger exactCounts = new AtomicInteger();
+        LongSupplier exactCount = () -> 40 + exactCounts.incrementAndGet();
+
+        // H2 has no planner statistics, so the first estimate is the exact count, and the next one is cached
+        assertThat(estimator.estimate(Training.class, exactCount)).isEqualTo(41);
+        assertThat(estimator.estimate(Training.class, exactCount)).isEqualTo(41);
+        assertThat(exactCounts).hasValue(1);
+
+        estimator.evict(Training.class);
+        assertThat(estimator.estimate(Training.class, exactCount)).isEqualTo(42);
+        // A class without a table has no statistics on any database
+        assertThat(estimator.estimate(TrainingView.class, exactCount)).isEqualTo(43);
+    }
+
+    @Test
+    void expiredEstimateIsCountedAgain() {
+        RowCountEstimator estimator = new RowCountEstimator(entityManager, 0);
+        AtomicInteger exactCounts = new AtomicInteger();
+
+        estimator.estimate(Training.class, exactCounts::incrementAndGet);
+        estimator.estimate(Training.class, exactCounts::incrementAndGet);
+
+        assertThat(exactCounts).hasValue(2);
+    }
+
+    @Test
+    void bulkUpsertEvictsTheEstimateOfTheDao() {
+        Trainer trainer = createTrainer(trainerService, "Estimate", "Trainer", "Estimate Yoga");
+        Trainee trainee = createTrainee(traineeService, "Estimate", "Trainee");
+        trainingDao.estimateTotalElements();
+
+        trainingDao.upsertAll(List.of(new Training(UUID.randomUUID(), trainee, trainer, "Estimated",
+                trainer.getSpecialization(), LocalDateTime.of(2025, 2, 1, 9, 0), 60)));
+
+        long exact = entityManager.createQuery("select count(t) from Training t", Long.class).getSingleResult();
+        assertThat(trainingDao.estimateTotalElements()).isEqualTo(exact);
+    }
+}
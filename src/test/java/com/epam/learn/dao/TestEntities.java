@@ -0,0 +1,70 @@
+package com.epam.learn.dao;
+
+import com.epam.learn.model.training.Training;
+import com.epam.learn.model.training.TrainingType;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.model.user.Trainer;
+import com.epam.learn.service.TraineeService;
+import com.epam.learn.service.TrainerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the rows the DAO tests rely on through the services, and counts the statements a test step runs.
+ */
+public final class TestEntities {
+
+    private TestEntities() {
+    }
+
+    public static Trainee createTrainee(TraineeService traineeService, String firstName, String lastName) {
+        Trainee trainee = new Trainee();
+        trainee.setFirstName(firstName);
+        trainee.setLastName(lastName);
+        traineeService.create(trainee);
+        return trainee;
+    }
+
+    public static Trainer createTrainer(TrainerService trainerService, String firstName, String lastName,
+                                        String specialization) {
+        TrainingType trainingType = new TrainingType();
+        trainingType.setName(specialization);
+        Trainer trainer = new Trainer();
+        trainer.setFirstName(firstName);
+        trainer.setLastName(lastName);
+        trainer.setSpecialization(trainingType);
+        trainerService.create(trainer);
+        return trainer;
+    }
+
+    public static List<Training> createTrainings(TrainingDao trainingDao, Trainee trainee, Trainer trainer, int count) {
+        List<Training> trainings = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < count; i++) {
+            trainings.add(new Training(null, trainee, trainer, "Training " + i, trainer.getSpecialization(),
+                    start.plusDays(i), 60));
+        }
+        trainingDao.saveAll(trainings);
+        return trainings;
+    }
+
+    /**
+     * Runs the given step and counts the JDBC statements it prepared.
+     * Requires {@code hibernate.generate_statistics}, which the tests enable.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @param step the step to run
+     * @return the number of statements prepared by the step
+     */
+    public static long countStatements(EntityManagerFactory entityManagerFactory, Runnable step) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        step.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
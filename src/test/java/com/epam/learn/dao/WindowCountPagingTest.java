@@ -0,0 +1,113 @@
+package com.epam.learn.dao;
+
+import com.epam.learn.H2IntegrationTest;
+import com.epam.learn.model.PagedResponse;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.model.user.Trainer;
+import com.epam.learn.service.TraineeService;
+import com.epam.learn.service.TrainerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.AopTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.epam.learn.dao.TestEntities.countStatements;
+import static com.epam.learn.dao.TestEntities.createTrainee;
+import static com.epam.learn.dao.TestEntities.createTrainer;
+import static com.epam.learn.dao.TestEntities.createTrainings;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@H2IntegrationTest
+class WindowCountPagingTest {
+
+    @Autowired
+    private TrainingDao trainingDao;
+
+    @Autowired
+    private TrainerDao trainerDao;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void restoreCountQueries() {
+        configureWindowCount(trainingDao, false);
+        configureWindowCount(trainerDao, false);
+    }
+
+    @Test
+    void templateFindersReadTheTotalFromTheWindowCount() {
+        Trainer trainer = createTrainer(trainerService, "Window", "Trainer", "Window Yoga");
+        Trainee trainee = createTrainee(traineeService, "Window", "Trainee");
+        createTrainings(trainingDao, trainee, trainer, 7);
+
+        assertSamePages(trainingDao, page -> () -> trainingDao.findByTraineeCriteria(trainee.getId(), null, null,
+                "Window", "Window Yoga", page, 3));
+    }
+
+    @Test
+    void notAssignedTrainersFollowTheWindowCountSwitch() {
+        createTrainer(trainerService, "Window", "Unassigned", "Window Pilates");
+        Trainee trainee = createTrainee(traineeService, "Window", "Unassigned");
+
+        assertSamePages(trainerDao, page -> () -> trainerDao.findNotAssignedToTrainee(trainee.getId(), page, 3));
+    }
+
+    /**
+     * Reads the first page, the last page and a page past the end with both strategies, and checks that
+     * they return the same pages, and that a page within range costs one statement with the window count.
+     */
+    private void assertSamePages(GenericDao<?> dao, PageFinder finder) {
+        PagedResponse<?> first = finder.page(0).get();
+        int lastPage = first.totalPages() - 1;
+        PagedResponse<?> last = finder.page(lastPage).get();
+        PagedResponse<?> pastEnd = finder.page(lastPage + 1).get();
+        long countQueryStatements = countStatements(entityManagerFactory, () -> finder.page(0).get());
+
+        configureWindowCount(dao, true);
+        AtomicReference<PagedResponse<?>> windowCounted = new AtomicReference<>();
+        long windowCountStatements = countStatements(entityManagerFactory,
+                () -> windowCounted.set(finder.page(0).get()));
+
+        assertThat(countQueryStatements).isEqualTo(2);
+        assertThat(windowCountStatements).isEqualTo(1);
+        for (PagedResponse<?>[] pages : List.of(
+                new PagedResponse<?>[]{first, windowCounted.get()},
+                new PagedResponse<?>[]{last, finder.page(lastPage).get()},
+                new PagedResponse<?>[]{pastEnd, finder.page(lastPage + 1).get()})) {
+            assertThat(ids(pages[1])).isEqualTo(ids(pages[0]));
+            assertThat(pages[1].totalElements()).isEqualTo(pages[0].totalElements());
+            assertThat(pages[1].totalPages()).isEqualTo(pages[0].totalPages());
+        }
+        assertThat(pastEnd.content()).isEmpty();
+        assertThat(pastEnd.totalElements()).isEqualTo(first.totalElements()).isPositive();
+    }
+
+    private List<Object> ids(PagedResponse<?> page) {
+        return page.content().stream()
+                .map(entityManagerFactory.getPersistenceUnitUtil()::getIdentifier)
+                .toList();
+    }
+
+    private static void configureWindowCount(GenericDao<?> dao, boolean enabled) {
+        AbstractDao<?> target = AopTestUtils.getTargetObject(dao);
+        target.configurePaging(new MockEnvironment().withProperty("dao.paging.window-count", String.valueOf(enabled)));
+    }
+
+    @FunctionalInterface
+    private interface PageFinder {
+        Supplier<PagedResponse<?>> page(int page);
+    }
+}
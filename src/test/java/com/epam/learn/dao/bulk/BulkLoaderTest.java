@@ -0,0 +1,112 @@
+package com.epam.learn.dao.bulk;
+
+import com.epam.learn.H2IntegrationTest;
+import com.epam.learn.dao.TraineeDao;
+import com.epam.learn.dao.TrainerDao;
+import com.epam.learn.dao.TrainingDao;
+import com.epam.learn.dao.TrainingTypeDao;
+import com.epam.learn.model.training.Training;
+import com.epam.learn.model.training.TrainingType;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.model.user.Trainer;
+import com.epam.learn.model.user.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@H2IntegrationTest
+class BulkLoaderTest {
+
+    private static final int CHUNK_SIZE = 5;
+    private static final int TRAININGS = 12;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TrainingTypeDao trainingTypeDao;
+
+    @Autowired
+    private TraineeDao traineeDao;
+
+    @Autowired
+    private TrainerDao trainerDao;
+
+    @Autowired
+    private TrainingDao trainingDao;
+
+    @Test
+    void reloadWithAssignedIdsUpdatesTheRowsInsteadOfDuplicatingThem() {
+        BulkLoader bulkLoader = new BulkLoader(entityManager, transactionManager, trainingTypeDao, traineeDao,
+                trainerDao, trainingDao, CHUNK_SIZE);
+        TrainingType trainingType = new TrainingType(UUID.randomUUID(), "Reload Yoga");
+        Trainee trainee = user(new Trainee(), "reload.trainee");
+        Trainer trainer = user(new Trainer(), "reload.trainer");
+        trainer.setSpecialization(trainingType);
+        List<Training> trainings = new ArrayList<>();
+        for (int i = 0; i < TRAININGS; i++) {
+            trainings.add(new Training(UUID.randomUUID(), trainee, trainer, "Reload " + i, trainingType,
+                    LocalDateTime.of(2025, 5, 1, 9, 0).plusDays(i), 60));
+        }
+
+        load(bulkLoader, trainingType, trainee, trainer, trainings);
+        trainee.setAddress("Changed address");
+        trainings.forEach(training -> training.setTrainingDuration(90));
+        BulkLoader.Progress reloaded = load(bulkLoader, trainingType, trainee, trainer, trainings);
+
+        assertThat(reloaded.rows()).isEqualTo(TRAININGS);
+        assertThat(reloaded.chunks()).isEqualTo(3);
+        assertThat(count("select count(t) from Trainee t where t.id = :id", trainee.getId())).isEqualTo(1);
+        assertThat(count("select count(t) from Trainer t where t.id = :id", trainer.getId())).isEqualTo(1);
+        assertThat(count("select count(t) from Training t where t.trainee.id = :id", trainee.getId()))
+                .isEqualTo(TRAININGS);
+        assertThat(count("select count(tr) from Trainee t join t.trainers tr where t.id = :id", trainee.getId()))
+                .isEqualTo(1);
+        assertThat(count("select count(t) from Training t where t.trainee.id = :id and t.trainingDuration = 90",
+                trainee.getId())).isEqualTo(TRAININGS);
+        assertThat(entityManager.createQuery("select t.address from Trainee t where t.id = :id", String.class)
+                .setParameter("id", trainee.getId())
+                .getSingleResult()).isEqualTo("Changed address");
+    }
+
+    /**
+     * Loads the given entities and the assignment of the trainer to the trainee.
+     *
+     * @return the progress of the trainings
+     */
+    private static BulkLoader.Progress load(BulkLoader bulkLoader, TrainingType trainingType, Trainee trainee,
+                                            Trainer trainer, List<Training> trainings) {
+        bulkLoader.load("trainingTypes", List.of(trainingType).iterator());
+        bulkLoader.load("trainees", List.of(trainee).iterator());
+        bulkLoader.load("trainers", List.of(trainer).iterator());
+        BulkLoader.Progress progress = bulkLoader.load("trainings", trainings.iterator());
+        bulkLoader.loadTrainerAssignments("assignments",
+                List.of(new TrainerAssignment(trainee.getId(), trainer.getId())).iterator());
+        return progress;
+    }
+
+    private long count(String jpql, UUID id) {
+        return entityManager.createQuery(jpql, Long.class).setParameter("id", id).getSingleResult();
+    }
+
+    private static <T extends User> T user(T user, String username) {
+        user.setId(UUID.randomUUID());
+        user.setFirstName("Reload");
+        user.setLastName(username);
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setActive(true);
+        return user;
+    }
+}
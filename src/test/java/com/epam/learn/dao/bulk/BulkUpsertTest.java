@@ -0,0 +1,75 @@
+package com.epam.learn.dao.bulk;
+
+import com.epam.learn.H2IntegrationTest;
+import com.epam.learn.dao.TrainingTypeDao;
+import com.epam.learn.model.training.TrainingType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@H2IntegrationTest
+class BulkUpsertTest {
+
+    private static final UpsertTable<TrainingType> TRAINING_TYPES = new UpsertTable<>("training_types", List.of(
+            new UpsertColumn<>("id", TrainingType::getId),
+            new UpsertColumn<>("name", TrainingType::getName)));
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TrainingTypeDao trainingTypeDao;
+
+    @Test
+    void lastOfSeveralEntitiesWithTheSameIdInOneChunkIsWritten() {
+        UUID id = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+
+        int written = trainingTypeDao.upsertAll(List.of(
+                new TrainingType(id, "Duplicate first"),
+                new TrainingType(otherId, "Duplicate other"),
+                new TrainingType(id, "Duplicate last")));
+
+        assertThat(written).isEqualTo(2);
+        assertThat(name(id)).isEqualTo("Duplicate last");
+        assertThat(name(otherId)).isEqualTo("Duplicate other");
+    }
+
+    @Test
+    void rowsAreSplitIntoStatementsOfTheGivenSize() throws SQLException {
+        BulkUpsert<TrainingType> upsert = new BulkUpsert<>(UpsertDialect.H2, List.of(TRAINING_TYPES), 2);
+        List<TrainingType> trainingTypes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            trainingTypes.add(new TrainingType(UUID.randomUUID(), "Split " + i));
+        }
+
+        // Two full statements of two rows and one of the remaining row, then the same rows as updates
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(upsert.execute(connection, trainingTypes)).isEqualTo(5);
+            trainingTypes.forEach(trainingType -> trainingType.setName(trainingType.getName() + " updated"));
+            assertThat(upsert.execute(connection, trainingTypes)).isEqualTo(5);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(name(trainingTypes.get(i).getId())).isEqualTo("Split " + i + " updated");
+        }
+    }
+
+    private String name(UUID id) {
+        return entityManager.createQuery("select t.name from TrainingType t where t.id = :id", String.class)
+                .setParameter("id", id)
+                .getSingleResult();
+    }
+}
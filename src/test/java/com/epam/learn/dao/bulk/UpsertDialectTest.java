@@ -0,0 +1,50 @@
+package com.epam.learn.dao.bulk;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpsertDialectTest {
+
+    private static final UpsertTable<Object> USERS = new UpsertTable<>("users", List.of(
+            new UpsertColumn<>("id", value -> value),
+            new UpsertColumn<>("username", value -> value),
+            new UpsertColumn<>("is_active", value -> value)));
+
+    private static final UpsertTable<Object> TRAINEES = new UpsertTable<>("trainees", List.of(
+            new UpsertColumn<>("id", value -> value)));
+
+    @Test
+    void postgresqlUpdatesEveryColumnButTheKeyOnConflict() {
+        assertThat(UpsertDialect.POSTGRESQL.sql(USERS, 2)).isEqualTo(
+                "insert into users (id, username, is_active) values (?, ?, ?), (?, ?, ?)"
+                        + " on conflict (id) do update set username = excluded.username, is_active = excluded.is_active");
+    }
+
+    @Test
+    void postgresqlDoesNothingOnConflictForAKeyOnlyTable() {
+        assertThat(UpsertDialect.POSTGRESQL.sql(TRAINEES, 3))
+                .isEqualTo("insert into trainees (id) values (?), (?), (?) on conflict (id) do nothing");
+    }
+
+    @Test
+    void h2MergesOnTheKey() {
+        assertThat(UpsertDialect.H2.sql(USERS, 2)).isEqualTo(
+                "merge into users (id, username, is_active) key (id) values (?, ?, ?), (?, ?, ?)");
+    }
+
+    @Test
+    void dialectIsChosenFromTheHibernateDialect() {
+        assertThat(UpsertDialect.of(new PostgreSQLDialect())).isEqualTo(UpsertDialect.POSTGRESQL);
+        assertThat(UpsertDialect.of(new H2Dialect())).isEqualTo(UpsertDialect.H2);
+        assertThatThrownBy(() -> UpsertDialect.of(new MySQLDialect()))
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessageContaining("MySQLDialect");
+    }
+}
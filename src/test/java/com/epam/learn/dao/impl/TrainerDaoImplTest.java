@@ -0,0 +1,58 @@
+package com.epam.learn.dao.impl;
+
+import com.epam.learn.H2IntegrationTest;
+import com.epam.learn.dao.TrainerDao;
+import com.epam.learn.model.user.Trainer;
+import com.epam.learn.service.TrainerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.epam.learn.dao.TestEntities.countStatements;
+import static com.epam.learn.dao.TestEntities.createTrainer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@H2IntegrationTest
+class TrainerDaoImplTest {
+
+    @Autowired
+    private TrainerDao trainerDao;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void findByIdIsServedFromSecondLevelCacheWithSpecialization() {
+        Trainer trainer = createTrainer(trainerService, "Cached", "Trainer", "Cached Pilates");
+        trainerDao.findById(trainer.getId());
+
+        AtomicReference<Trainer> found = new AtomicReference<>();
+        long statements = countStatements(entityManagerFactory,
+                () -> found.set(trainerDao.findById(trainer.getId()).orElseThrow()));
+
+        assertThat(statements).isZero();
+        assertThat(found.get().getSpecialization().getName()).isEqualTo("Cached Pilates");
+    }
+
+    @Test
+    void statusUpdateInvalidatesCachedTrainersAndQueries() {
+        Trainer trainer = createTrainer(trainerService, "Status", "Updated", "Status Pilates");
+        trainerDao.findById(trainer.getId());
+        trainerDao.findByUsername(trainer.getUsername());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long queryCacheMisses = statistics.getQueryCacheMissCount();
+
+        trainerService.updateTrainerStatus(trainer.getUsername(), false);
+
+        assertThat(trainerDao.findByUsername(trainer.getUsername()).orElseThrow().isActive()).isFalse();
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(queryCacheMisses + 1);
+        assertThat(trainerDao.findById(trainer.getId()).orElseThrow().isActive()).isFalse();
+    }
+}
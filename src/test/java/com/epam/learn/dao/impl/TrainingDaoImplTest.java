@@ -0,0 +1,253 @@
+package com.epam.learn.dao.impl;
+
+import com.epam.learn.H2IntegrationTest;
+import com.epam.learn.dao.TrainingDao;
+import com.epam.learn.dao.TrainingFetchPlan;
+import com.epam.learn.model.CursorPagedResponse;
+import com.epam.learn.model.PagedResponse;
+import com.epam.learn.model.SlicedResponse;
+import com.epam.learn.model.training.Training;
+import com.epam.learn.model.training.TrainingView;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.model.user.Trainer;
+import com.epam.learn.service.TraineeService;
+import com.epam.learn.service.TrainerService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.epam.learn.dao.TestEntities.countStatements;
+import static com.epam.learn.dao.TestEntities.createTrainee;
+import static com.epam.learn.dao.TestEntities.createTrainer;
+import static com.epam.learn.dao.TestEntities.createTrainings;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@H2IntegrationTest
+class TrainingDaoImplTest {
+
+    @Autowired
+    private TrainingDao trainingDao;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void pageOfTrainingsLoadsInConstantNumberOfStatements() {
+        Trainer trainer = createTrainer(trainerService, "Graph", "Trainer", "Graph Yoga");
+        Trainee fewTrainings = createTrainee(traineeService, "Graph", "Few");
+        Trainee manyTrainings = createTrainee(traineeService, "Graph", "Many");
+        createTrainings(trainingDao, fewTrainings, trainer, 5);
+        createTrainings(trainingDao, manyTrainings, trainer, 50);
+
+        long fewStatements = countStatements(entityManagerFactory, () -> readPage(fewTrainings.getId(), 5));
+        long manyStatements = countStatements(entityManagerFactory, () -> readPage(manyTrainings.getId(), 50));
+
+        // The count query and the page query, whatever the number of rows
+        assertThat(manyStatements).isEqualTo(fewStatements).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void criteriaFindersApplyTheSameFiltersAndOrder() {
+        Trainer trainer = createTrainer(trainerService, "Filter", "Trainer", "Filter Pilates");
+        Trainer otherTrainer = createTrainer(trainerService, "Other", "Trainer", "Filter Pilates");
+        Trainee trainee = createTrainee(traineeService, "Filter", "Trainee");
+        List<Training> trainings = createTrainings(trainingDao, trainee, trainer, 10);
+        createTrainings(trainingDao, trainee, otherTrainer, 10);
+        LocalDate fromDate = LocalDate.of(2025, 1, 3);
+        LocalDate toDate = LocalDate.of(2025, 1, 8);
+        // Days 3 to 8 of the first trainer, in date order
+        List<UUID> expected = trainings.subList(2, 8).stream().map(Training::getId).toList();
+
+        List<UUID> paged = new ArrayList<>();
+        List<UUID> sliced = new ArrayList<>();
+        List<UUID> views = new ArrayList<>();
+        for (int page = 0; page < 2; page++) {
+            PagedResponse<Training> offsetPage = trainingDao.findByTraineeCriteria(trainee.getId(), fromDate, toDate,
+                    "Filter", "Filter Pilates", page, 4);
+            assertThat(offsetPage.totalElements()).isEqualTo(expected.size());
+            offsetPage.content().forEach(training -> paged.add(training.getId()));
+
+            SlicedResponse<Training> slice = trainingDao.findSliceByTraineeCriteria(trainee.getId(), fromDate, toDate,
+                    "Filter", "Filter Pilates", page, 4);
+            assertThat(slice.hasNext()).isEqualTo(page == 0);
+            slice.content().forEach(training -> sliced.add(training.getId()));
+
+            PagedResponse<TrainingView> viewPage = trainingDao.findViewsByTraineeCriteria(trainee.getId(), fromDate,
+                    toDate, "Filter", "Filter Pilates", page, 4);
+            assertThat(viewPage.totalElements()).isEqualTo(expected.size());
+            viewPage.content().forEach(view -> {
+                assertThat(view.counterpartFirstName()).isEqualTo("Filter");
+                views.add(view.id());
+            });
+        }
+
+        List<UUID> seeked = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPagedResponse<Training> cursorPage = trainingDao.findByTraineeCriteria(trainee.getId(), fromDate,
+                    toDate, "Filter", "Filter Pilates", cursor, 4);
+            cursorPage.content().forEach(training -> seeked.add(training.getId()));
+            cursor = cursorPage.nextCursor();
+        } while (cursor != null);
+
+        assertThat(paged).isEqualTo(expected);
+        assertThat(sliced).isEqualTo(expected);
+        assertThat(views).isEqualTo(expected);
+        assertThat(seeked).isEqualTo(expected);
+    }
+
+    @Test
+    void cursorsBreakTiesBetweenTrainingsAtTheSameTimeById() {
+        Trainer trainer = createTrainer(trainerService, "Tie", "Trainer", "Tie Yoga");
+        Trainee trainee = createTrainee(traineeService, "Tie", "Trainee");
+        LocalDateTime sameTime = LocalDateTime.of(2025, 4, 1, 9, 0);
+        List<Training> trainings = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            trainings.add(new Training(null, trainee, trainer, "Tie " + i, trainer.getSpecialization(), sameTime, 60));
+        }
+        trainingDao.saveAll(trainings);
+        // The offset finder orders by the same (trainingDate, id) key
+        List<UUID> expected = trainingDao.findByTraineeCriteria(trainee.getId(), null, null, null, null, 0, 10)
+                .content().stream().map(Training::getId).toList();
+
+        List<UUID> byTrainee = new ArrayList<>();
+        List<UUID> byTrainer = new ArrayList<>();
+        String traineeCursor = null;
+        String trainerCursor = null;
+        do {
+            CursorPagedResponse<Training> traineePage = trainingDao.findByTraineeCriteria(trainee.getId(), null, null,
+                    null, null, traineeCursor, 2);
+            traineePage.content().forEach(training -> byTrainee.add(training.getId()));
+            traineeCursor = traineePage.nextCursor();
+
+            CursorPagedResponse<Training> trainerPage = trainingDao.findByTrainerCriteria(trainer.getId(), null, null,
+                    null, trainerCursor, 2);
+            trainerPage.content().forEach(training -> byTrainer.add(training.getId()));
+            trainerCursor = trainerPage.nextCursor();
+        } while (traineeCursor != null);
+
+        assertThat(expected).containsExactlyInAnyOrderElementsOf(trainings.stream().map(Training::getId).toList());
+        assertThat(byTrainee).isEqualTo(expected);
+        assertThat(byTrainer).isEqualTo(expected);
+        assertThat(trainerCursor).isNull();
+    }
+
+    @Test
+    void viewsMapTheFieldsOfTheTrainingsAndTheirCounterparts() {
+        Trainer trainer = createTrainer(trainerService, "Coach", "Projected", "View Karate");
+        Trainee trainee = createTrainee(traineeService, "Student", "Projected");
+        List<Training> trainings = createTrainings(trainingDao, trainee, trainer, 3);
+        List<TrainingView> expectedForTrainee = new ArrayList<>();
+        List<TrainingView> expectedForTrainer = new ArrayList<>();
+        for (Training training : trainings) {
+            expectedForTrainee.add(new TrainingView(training.getId(), training.getTrainingName(),
+                    training.getTrainingDate(), "View Karate", 60, "Coach", "Projected"));
+            expectedForTrainer.add(new TrainingView(training.getId(), training.getTrainingName(),
+                    training.getTrainingDate(), "View Karate", 60, "Student", "Projected"));
+        }
+
+        PagedResponse<TrainingView> traineeViews = trainingDao.findViewsByTraineeCriteria(trainee.getId(), null, null,
+                null, null, 0, 10);
+        PagedResponse<TrainingView> trainerViews = trainingDao.findViewsByTrainerCriteria(trainer.getId(), null, null,
+                null, 0, 10);
+
+        assertThat(traineeViews.totalElements()).isEqualTo(3);
+        assertThat(traineeViews.content()).isEqualTo(expectedForTrainee);
+        assertThat(trainerViews.totalElements()).isEqualTo(3);
+        assertThat(trainerViews.content()).isEqualTo(expectedForTrainer);
+        // The views are selected into records, so nothing is added to the persistence context
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            trainingDao.findViewsByTraineeCriteria(trainee.getId(), null, null, null, null, 0, 10);
+            assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        });
+    }
+
+    @Test
+    void fetchPlansLoadTheirAssociationsWithTheTrainings() {
+        Trainer trainer = createTrainer(trainerService, "Plan", "Trainer", "Plan Boxing");
+        Trainee trainee = createTrainee(traineeService, "Plan", "Trainee");
+        createTrainings(trainingDao, trainee, trainer, 3);
+
+        for (TrainingFetchPlan fetchPlan : TrainingFetchPlan.values()) {
+            List<Training> trainings = trainingDao.findByTraineeCriteria(trainee.getId(), null, null, null, null,
+                    0, 10, fetchPlan).content();
+
+            assertThat(trainings).hasSize(3).allSatisfy(training -> {
+                boolean all = fetchPlan == TrainingFetchPlan.ALL;
+                assertThat(Hibernate.isInitialized(training.getTrainee()))
+                        .isEqualTo(all || fetchPlan == TrainingFetchPlan.TRAINEE_AND_TYPE);
+                assertThat(Hibernate.isInitialized(training.getTrainer()))
+                        .isEqualTo(all || fetchPlan == TrainingFetchPlan.TRAINER_AND_TYPE);
+                assertThat(Hibernate.isInitialized(training.getTrainingType()))
+                        .isEqualTo(fetchPlan != TrainingFetchPlan.NONE);
+                if (all) {
+                    assertThat(Hibernate.isInitialized(training.getTrainer().getSpecialization())).isTrue();
+                }
+            });
+        }
+    }
+
+    @Test
+    void streamDetachesStreamedRowsButKeepsEntitiesHeldByTheTransaction() {
+        Trainer createdTrainer = createTrainer(trainerService, "Stream", "Trainer", "Stream Boxing");
+        Trainee trainee = createTrainee(traineeService, "Stream", "Trainee");
+        createTrainings(trainingDao, trainee, createdTrainer, 5);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Trainer trainer = entityManager.find(Trainer.class, createdTrainer.getId());
+            List<Training> streamed = new ArrayList<>();
+            try (Stream<Training> trainings = trainingDao.stream(
+                    (cb, root) -> cb.equal(root.get("trainer").get("id"), trainer.getId()), 2)) {
+                trainings.forEach(training -> {
+                    // A change made while streaming, after the query has been flushed
+                    trainer.setLastName("Streamed");
+                    streamed.add(training);
+                });
+            }
+
+            assertThat(streamed).hasSize(5).allSatisfy(training -> {
+                assertThat(entityManager.contains(training)).isFalse();
+                assertThat(training.getTrainer()).isSameAs(trainer);
+            });
+            assertThat(entityManager.contains(trainer)).isTrue();
+        });
+
+        assertThat(entityManager.find(Trainer.class, createdTrainer.getId()).getLastName()).isEqualTo("Streamed");
+    }
+
+    private void readPage(UUID traineeId, int expectedRows) {
+        PagedResponse<Training> page = trainingDao.findByTraineeCriteria(traineeId, null, null, null, null, 0, 50);
+
+        assertThat(page.content()).hasSize(expectedRows);
+        // The associations of the default graph are loaded, so they can be read after the transaction
+        for (Training training : page.content()) {
+            assertThat(training.getTrainee().getUsername()).isNotNull();
+            assertThat(training.getTrainer().getSpecialization().getName()).isEqualTo("Graph Yoga");
+            assertThat(training.getTrainingType().getName()).isEqualTo("Graph Yoga");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.epam.learn.service.auth;
+
+import com.epam.learn.H2IntegrationTest;
+import com.epam.learn.model.user.Trainee;
+import com.epam.learn.service.TraineeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@H2IntegrationTest
+class AuthServiceImplTest {
+
+    private static final int REGISTRATIONS = 8;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TraineeService traineeService;
+
+    @Test
+    void generateUsernameSkipsTakenSuffixes() {
+        traineeService.create(trainee("Suffix", "Gap"));
+        traineeService.create(trainee("Suffix", "Gap"));
+
+        assertThat(authService.generateUsername("Suffix", "Gap")).isEqualTo("suffix.gap2");
+    }
+
+    @Test
+    void concurrentRegistrationsOfTheSameNameGetDistinctUsernames() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(REGISTRATIONS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < REGISTRATIONS; i++) {
+                Callable<String> registration = () -> {
+                    Trainee trainee = trainee("Concurrent", "Registration");
+                    start.await();
+                    traineeService.create(trainee);
+                    return trainee.getUsername();
+                };
+                results.add(executor.submit(registration));
+            }
+            start.countDown();
+
+            List<String> usernames = new ArrayList<>();
+            for (Future<String> result : results) {
+                usernames.add(result.get());
+            }
+
+            Set<String> distinct = usernames.stream().collect(Collectors.toSet());
+            assertThat(distinct).hasSize(REGISTRATIONS);
+            for (String username : usernames) {
+                assertThat(traineeService.getTraineeByUsername(username)).isNotNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Trainee trainee(String firstName, String lastName) {
+        Trainee trainee = new Trainee();
+        trainee.setFirstName(firstName);
+        trainee.setLastName(lastName);
+        return trainee;
+    }
+}
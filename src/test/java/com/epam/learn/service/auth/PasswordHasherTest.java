@@ -0,0 +1,111 @@
+package com.epam.learn.service.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHasherTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+    private static final Clock CLOCK = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    private final PasswordHasher hasher = new PasswordHasher(1000, 10, 300, null, CLOCK);
+
+    @Test
+    void matchesHashOfSamePasswordOnly() {
+        String hash = hasher.hash("Secret1!");
+
+        assertThat(hasher.matches("Secret1!", hash)).isTrue();
+        assertThat(hasher.matches("Secret2!", hash)).isFalse();
+        assertThat(hasher.needsRehash(hash)).isFalse();
+    }
+
+    @Test
+    void rejectsMalformedHashes() {
+        assertThat(hasher.matches("Secret1!", "pbkdf2$many$c2FsdA==$aGFzaA==")).isFalse();
+        assertThat(hasher.matches("Secret1!", "pbkdf2$1000$not base64$aGFzaA==")).isFalse();
+        assertThat(hasher.matches("Secret1!", "pbkdf2$1000$$aGFzaA==")).isFalse();
+        assertThat(hasher.matches("Secret1!", "pbkdf2$0$c2FsdA==$aGFzaA==")).isFalse();
+        assertThat(hasher.matches("Secret1!", "pbkdf2$1000$c2FsdA==")).isFalse();
+    }
+
+    @Test
+    void acceptsLegacyPlaintextUntilCutOff() {
+        PasswordHasher beforeCutOff = new PasswordHasher(1000, 10, 300, TODAY, CLOCK);
+        PasswordHasher afterCutOff = new PasswordHasher(1000, 10, 300, TODAY.minusDays(1), CLOCK);
+
+        assertThat(hasher.matches("legacy", "legacy")).isTrue();
+        assertThat(beforeCutOff.matches("legacy", "legacy")).isTrue();
+        assertThat(afterCutOff.matches("legacy", "legacy")).isFalse();
+        assertThat(hasher.needsRehash("legacy")).isTrue();
+    }
+
+    @Test
+    void cachedVerificationExpiresAfterTheTtl() {
+        MutableClock clock = new MutableClock(CLOCK.instant());
+        PasswordHasher cachingHasher = new PasswordHasher(1000, 10, 300, null, clock);
+        String hash = cachingHasher.hash("Secret1!");
+
+        assertThat(cachingHasher.matches("Secret1!", hash)).isTrue();
+        clock.advance(Duration.ofSeconds(300));
+        assertThat(cachingHasher.isVerificationCached("Secret1!", hash)).isTrue();
+        assertThat(cachingHasher.isVerificationCached("Secret2!", hash)).isFalse();
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(cachingHasher.isVerificationCached("Secret1!", hash)).isFalse();
+        // The expired entry is verified again and cached anew
+        assertThat(cachingHasher.matches("Secret1!", hash)).isTrue();
+        assertThat(cachingHasher.isVerificationCached("Secret1!", hash)).isTrue();
+    }
+
+    @Test
+    void verificationCacheKeepsTheMostRecentEntriesUpToItsSize() {
+        PasswordHasher cachingHasher = new PasswordHasher(1000, 2, 300, null, CLOCK);
+        String first = cachingHasher.hash("First1!");
+        String second = cachingHasher.hash("Second2!");
+        String third = cachingHasher.hash("Third3!");
+
+        assertThat(cachingHasher.matches("First1!", first)).isTrue();
+        assertThat(cachingHasher.matches("Second2!", second)).isTrue();
+        assertThat(cachingHasher.matches("Third3!", third)).isTrue();
+
+        assertThat(cachingHasher.isVerificationCached("First1!", first)).isFalse();
+        assertThat(cachingHasher.isVerificationCached("Second2!", second)).isTrue();
+        assertThat(cachingHasher.isVerificationCached("Third3!", third)).isTrue();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
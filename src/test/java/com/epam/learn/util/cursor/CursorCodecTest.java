@@ -0,0 +1,63 @@
+package com.epam.learn.util.cursor;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+    @Test
+    void trainingCursorRoundTrips() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime trainingDate = LocalDateTime.of(2025, 3, 9, 17, 45, 30, 123_000_000);
+
+        String cursor = CursorCodec.encodeTrainingCursor(trainingDate, id);
+
+        assertThat(cursor).doesNotContain("+", "/", "=");
+        assertThat(CursorCodec.decodeTrainingCursor(cursor))
+                .isEqualTo(new CursorCodec.TrainingCursor(trainingDate, id));
+    }
+
+    @Test
+    void usernameCursorRoundTrips() {
+        String username = "Jane.Doe|1";
+
+        assertThat(CursorCodec.decodeUsernameCursor(CursorCodec.encodeUsernameCursor(username))).isEqualTo(username);
+    }
+
+    @Test
+    void missingCursorDecodesToNull() {
+        assertThat(CursorCodec.decodeTrainingCursor(null)).isNull();
+        assertThat(CursorCodec.decodeTrainingCursor("")).isNull();
+        assertThat(CursorCodec.decodeUsernameCursor(null)).isNull();
+        assertThat(CursorCodec.decodeUsernameCursor("")).isNull();
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        String usernameCursor = CursorCodec.encodeUsernameCursor("Jane.Doe");
+
+        assertThatThrownBy(() -> CursorCodec.decodeTrainingCursor("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorCodec.decodeTrainingCursor(usernameCursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(usernameCursor);
+        assertThatThrownBy(() -> CursorCodec.decodeTrainingCursor(encode("t:2025-03-09T17:45")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorCodec.decodeTrainingCursor(encode("t:yesterday|" + UUID.randomUUID())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorCodec.decodeUsernameCursor(
+                CursorCodec.encodeTrainingCursor(LocalDateTime.of(2025, 3, 9, 17, 45), UUID.randomUUID())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}